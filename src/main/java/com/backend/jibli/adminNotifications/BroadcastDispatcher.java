@@ -0,0 +1,127 @@
+package com.backend.jibli.adminNotifications;
+
+import com.backend.jibli.firebase.BatchSendResult;
+import com.backend.jibli.firebase.DeviceTokenDTO;
+import com.backend.jibli.firebase.FcmTokenRepository;
+import com.backend.jibli.firebase.FirebaseMessagingService;
+import com.backend.jibli.notification.NotificationService;
+import com.backend.jibli.user.UserRole;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Sends a broadcast off the request thread. The audience is read as keyset pages of
+ * device tokens, never as User entities, and each page goes out as one FCM
+ * multicast chunk in parallel on the broadcast send executor, whose pool size is the
+ * number of concurrent requests we allow toward FCM. Counts are written back after
+ * every chunk so progress can be followed while the broadcast runs.
+ */
+@Component
+@Slf4j
+public class BroadcastDispatcher {
+
+    private final IBroadcastNotificationRepository broadcastRepository;
+    private final FcmTokenRepository fcmTokenRepository;
+    private final NotificationService notificationService;
+    private final ThreadPoolTaskExecutor sendExecutor;
+
+    public BroadcastDispatcher(IBroadcastNotificationRepository broadcastRepository,
+                               FcmTokenRepository fcmTokenRepository,
+                               NotificationService notificationService,
+                               @Qualifier("broadcastSendExecutor") ThreadPoolTaskExecutor sendExecutor) {
+        this.broadcastRepository = broadcastRepository;
+        this.fcmTokenRepository = fcmTokenRepository;
+        this.notificationService = notificationService;
+        this.sendExecutor = sendExecutor;
+    }
+
+    @Async("broadcastExecutor")
+    public void dispatch(Integer notificationId) {
+        BroadcastNotification notification = broadcastRepository.findById(notificationId).orElse(null);
+        if (notification == null) {
+            log.warn("⚠️ Broadcast not found: {}", notificationId);
+            return;
+        }
+
+        try {
+            log.info("📤 Starting broadcast {}: {} to audience: {}",
+                    notificationId, notification.getTitle(), notification.getTargetAudience());
+
+            UserRole role = resolveAudience(notification.getTargetAudience());
+            long targetCount = fcmTokenRepository.countAudience(role);
+            if (broadcastRepository.markStarted(notificationId, Math.toIntExact(targetCount), LocalDateTime.now()) == 0) {
+                log.info("⏭️ Broadcast {} is no longer queued, skipping", notificationId);
+                return;
+            }
+            log.info("📊 Total devices to notify: {}", targetCount);
+
+            Map<String, String> data = new HashMap<>();
+            data.put("route", "/broadcasts");
+            data.put("notificationId", notificationId.toString());
+            data.put("type", notification.getType().toString());
+            if (notification.getImageUrl() != null) {
+                data.put("imageUrl", notification.getImageUrl());
+            }
+
+            // Each keyset page is exactly one multicast chunk and is handed to a sender as soon as it is read
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            Pageable page = PageRequest.of(0, FirebaseMessagingService.MAX_TOKENS_PER_BATCH);
+            long afterId = 0;
+            List<DeviceTokenDTO> rows;
+            do {
+                rows = fcmTokenRepository.findAudienceAfter(role, afterId, page);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                afterId = rows.get(rows.size() - 1).getTokenId();
+                List<String> chunk = rows.stream().map(DeviceTokenDTO::getFcmToken).collect(Collectors.toList());
+                chunks.add(CompletableFuture.runAsync(() -> sendChunk(notification, chunk, data), sendExecutor));
+            } while (rows.size() == FirebaseMessagingService.MAX_TOKENS_PER_BATCH);
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).join();
+
+            broadcastRepository.markFinished(notificationId, BroadcastStatus.COMPLETED, LocalDateTime.now());
+            log.info("✅ Broadcast {} completed", notificationId);
+        } catch (Exception e) {
+            broadcastRepository.markFinished(notificationId, BroadcastStatus.FAILED, LocalDateTime.now());
+            log.error("❌ Error sending broadcast {}: {}", notificationId, e.getMessage(), e);
+        }
+    }
+
+    private void sendChunk(BroadcastNotification notification, List<String> tokens, Map<String, String> data) {
+        BatchSendResult result = notificationService.sendNotificationToTokens(
+                tokens, notification.getTitle(), notification.getBody(), data);
+        broadcastRepository.addProgress(notification.getNotificationId(), result.getSuccessCount(),
+                result.getFailureCount(), LocalDateTime.now());
+        log.info("📊 Broadcast {} chunk done - Sent: {}, Failed: {}",
+                notification.getNotificationId(), result.getSuccessCount(), result.getFailureCount());
+    }
+
+    /**
+     * Map the audience to a user role; null means every user
+     */
+    private UserRole resolveAudience(String targetAudience) {
+        return switch (targetAudience.toUpperCase()) {
+            case "ALL" -> null;
+            case "CUSTOMER" -> UserRole.Customer;
+            case "OWNER" -> UserRole.Owner;
+            case "DELIVERY" -> UserRole.Delivery;
+            default -> {
+                log.warn("⚠️ Unknown audience type: {}, targeting ALL users instead", targetAudience);
+                yield null;
+            }
+        };
+    }
+}
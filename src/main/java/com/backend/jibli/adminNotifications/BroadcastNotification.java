@@ -8,7 +8,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "broadcast_notifications")
+@Table(name = "broadcast_notifications", indexes = {
+        @Index(name = "idx_broadcast_status_scheduled", columnList = "status, scheduled_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,6 +34,31 @@ public class BroadcastNotification {
     @Column(name = "sent_count")
     private Integer sentCount = 0;
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private BroadcastStatus status;
+
+    // Devices the broadcast resolved to; sentCount + failedCount reaches it when done
+    @Column(name = "target_count")
+    private Integer targetCount;
+
+    @Column(name = "failed_count")
+    private Integer failedCount = 0;
+
+    // When the scheduler released a scheduled broadcast; minus scheduledAt is the dispatch lag
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    // Last sign of life of a SENDING broadcast, see BroadcastScheduler.recoverStaleBroadcasts
+    @Column(name = "progress_at")
+    private LocalDateTime progressAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/admin/broadcast")
@@ -153,6 +154,23 @@ public class BroadcastNotificationController {
         }
     }
 
+    /**
+     * Get delivery progress of a broadcast
+     */
+    @GetMapping("/{id}/progress")
+    public ResponseEntity<Map<String, Object>> getBroadcastProgress(@PathVariable Integer id) {
+        Map<String, Object> response = new HashMap<>();
+        Optional<BroadcastProgressDTO> progress = broadcastService.getProgress(id);
+        if (progress.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "Broadcast not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("success", true);
+        response.put("data", progress.get());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Deactivate broadcast
      */
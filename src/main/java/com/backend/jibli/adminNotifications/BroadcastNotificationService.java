@@ -1,12 +1,8 @@
 package com.backend.jibli.adminNotifications;
 
-import com.backend.jibli.notification.NotificationService;
-import com.backend.jibli.user.IUserRepository;
-import com.backend.jibli.user.User;
-import com.backend.jibli.user.UserRole;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -20,12 +16,7 @@ public class BroadcastNotificationService {
     private IBroadcastNotificationRepository broadcastRepository;
 
     @Autowired
-    private IUserRepository userRepository;
-
-    @Autowired
-    private NotificationService notificationService;
-
-    private static final int BATCH_SIZE = 100;
+    private BroadcastDispatcher broadcastDispatcher;
 
     /**
      * Create and send broadcast notification immediately to all users
@@ -48,14 +39,19 @@ public class BroadcastNotificationService {
 
             notification.setTargetAudience(dto.getTargetAudience() != null ? dto.getTargetAudience() : "ALL");
             notification.setIsActive(true);
+            notification.setStatus(BroadcastStatus.QUEUED);
             notification.setCreatedAt(LocalDateTime.now());
 
             log.info("💾 Saving notification to database...");
             BroadcastNotification saved = broadcastRepository.save(notification);
             log.info("✅ Notification saved with ID: {}", saved.getNotificationId());
 
-            // Send to all users asynchronously
-            sendBroadcastToUsersAsync(saved);
+            // Send to all users on the broadcast executor
+            try {
+                broadcastDispatcher.dispatch(saved.getNotificationId());
+            } catch (TaskRejectedException e) {
+                log.warn("⏳ Broadcast {} queued for retry: {}", saved.getNotificationId(), e.getMessage());
+            }
 
             return mapToDTO(saved);
         } catch (Exception e) {
@@ -86,6 +82,7 @@ public class BroadcastNotificationService {
 
             notification.setTargetAudience(dto.getTargetAudience() != null ? dto.getTargetAudience() : "ALL");
             notification.setIsActive(true);
+            notification.setStatus(BroadcastStatus.SCHEDULED);
             notification.setScheduledAt(dto.getScheduledAt());
             notification.setExpiresAt(dto.getExpiresAt());
             notification.setCreatedAt(LocalDateTime.now());
@@ -101,124 +98,6 @@ public class BroadcastNotificationService {
         }
     }
 
-    /**
-     * Send broadcast to all users asynchronously (non-blocking)
-     * Uses the SAME LOGIC as the working /api/notifications/test endpoint
-     */
-    @Async
-    protected void sendBroadcastToUsersAsync(BroadcastNotification notification) {
-        try {
-            log.info("📤 Starting async broadcast: {} to audience: {}",
-                    notification.getTitle(), notification.getTargetAudience());
-
-            List<User> users = getTargetUsers(notification.getTargetAudience());
-            log.info("📊 Total users to notify: {}", users.size());
-
-            if (users.isEmpty()) {
-                log.warn("⚠️ No users found for audience: {}", notification.getTargetAudience());
-                notification.setSentCount(0);
-                broadcastRepository.save(notification);
-                return;
-            }
-
-            int sentCount = 0;
-            int failedCount = 0;
-
-            // Process users in batches to avoid memory overload
-            for (int i = 0; i < users.size(); i += BATCH_SIZE) {
-                int end = Math.min(i + BATCH_SIZE, users.size());
-                List<User> batch = users.subList(i, end);
-
-                for (User user : batch) {
-                    try {
-                        if (user.getFcmToken() != null && !user.getFcmToken().isEmpty()) {
-                            log.info("📨 Sending to user: {} with token: {}", user.getUserId(), user.getFcmToken().substring(0, 20) + "...");
-
-                            // Build data payload - SAME AS WORKING ENDPOINT
-                            Map<String, String> data = new HashMap<>();
-                            data.put("route", "/broadcasts");
-                            data.put("notificationId", notification.getNotificationId().toString());
-                            data.put("type", notification.getType().toString());
-
-                            if (notification.getImageUrl() != null) {
-                                data.put("imageUrl", notification.getImageUrl());
-                            }
-
-                            // Use NotificationService directly - SAME AS WORKING ENDPOINT
-                            boolean success = notificationService.sendNotificationToUser(
-                                    user.getUserId().longValue(),
-                                    notification.getTitle(),
-                                    notification.getBody(),
-                                    data
-                            );
-
-                            if (success) {
-                                sentCount++;
-                                log.info("✅ Notification sent to user: {}", user.getUserId());
-                            } else {
-                                failedCount++;
-                                log.warn("⚠️ Failed to send to user {}", user.getUserId());
-                            }
-                        } else {
-                            log.debug("⚠️ User {} has no FCM token", user.getUserId());
-                            failedCount++;
-                        }
-                    } catch (Exception e) {
-                        failedCount++;
-                        log.warn("⚠️ Failed to send to user {}: {}", user.getUserId(), e.getMessage());
-                    }
-                }
-
-                log.info("📊 Batch progress: {}/{} users processed. Sent: {}, Failed: {}",
-                        end, users.size(), sentCount, failedCount);
-            }
-
-            notification.setSentCount(sentCount);
-            broadcastRepository.save(notification);
-
-            log.info("✅ Broadcast {} completed - Total Sent: {}, Total Failed: {}",
-                    notification.getNotificationId(), sentCount, failedCount);
-
-        } catch (Exception e) {
-            log.error("❌ Error sending broadcast: {}", e.getMessage(), e);
-        }
-    }
-
-    /**
-     * Get target users based on audience type (using UserRole enum)
-     */
-    private List<User> getTargetUsers(String targetAudience) {
-        try {
-            log.info("🎯 Fetching {} users", targetAudience);
-
-            return switch (targetAudience.toUpperCase()) {
-                case "ALL" -> {
-                    log.info("🎯 Fetching ALL users");
-                    yield userRepository.findAll();
-                }
-                case "CUSTOMER" -> {
-                    log.info("🎯 Fetching CUSTOMER users");
-                    yield userRepository.findAllByUserRole(UserRole.Customer);
-                }
-                case "OWNER" -> {
-                    log.info("🎯 Fetching OWNER users");
-                    yield userRepository.findAllByUserRole(UserRole.Owner);
-                }
-                case "DELIVERY" -> {
-                    log.info("🎯 Fetching DELIVERY users");
-                    yield userRepository.findAllByUserRole(UserRole.Delivery);
-                }
-                default -> {
-                    log.warn("⚠️ Unknown audience type: {}, fetching ALL users instead", targetAudience);
-                    yield userRepository.findAll();
-                }
-            };
-        } catch (Exception e) {
-            log.error("❌ Error fetching target users: {}", e.getMessage());
-            return List.of();
-        }
-    }
-
     /**
      * Get all broadcasts with filtering
      */
@@ -229,6 +108,32 @@ public class BroadcastNotificationService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get delivery progress of a broadcast
+     */
+    public Optional<BroadcastProgressDTO> getProgress(Integer notificationId) {
+        return broadcastRepository.findById(notificationId).map(notification -> {
+            int sent = notification.getSentCount() != null ? notification.getSentCount() : 0;
+            int failed = notification.getFailedCount() != null ? notification.getFailedCount() : 0;
+            Integer target = notification.getTargetCount();
+            Double percent = target == null ? null
+                    : target == 0 ? 100.0
+                    : Math.round((sent + failed) * 1000.0 / target) / 10.0;
+            return new BroadcastProgressDTO(
+                    notification.getNotificationId(),
+                    notification.getStatus(),
+                    target,
+                    sent,
+                    failed,
+                    percent,
+                    notification.getScheduledAt(),
+                    notification.getDispatchedAt(),
+                    notification.getStartedAt(),
+                    notification.getCompletedAt()
+            );
+        });
+    }
+
     /**
      * Deactivate broadcast
      */
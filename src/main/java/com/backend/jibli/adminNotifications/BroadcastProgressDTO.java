@@ -0,0 +1,23 @@
+package com.backend.jibli.adminNotifications;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastProgressDTO {
+    private Integer notificationId;
+    private BroadcastStatus status;
+    private Integer targetCount;
+    private Integer sentCount;
+    private Integer failedCount;
+    private Double percentComplete;
+    private LocalDateTime scheduledAt;
+    private LocalDateTime dispatchedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,140 @@
+package com.backend.jibli.adminNotifications;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fires scheduled broadcasts. Due rows are claimed with FOR UPDATE SKIP LOCKED and moved
+ * out of SCHEDULED in the same transaction, so with several nodes polling each broadcast
+ * is released exactly once. Claimed broadcasts are handed to {@link BroadcastDispatcher}
+ * only after that transaction commits.
+ * <p>
+ * The same way, broadcasts left QUEUED (rejected by a full executor) or SENDING (the node
+ * died mid-send) for {@code staleAfter} are queued and dispatched again, at startup and
+ * then periodically. A broadcast resumed from SENDING starts over, so devices reached
+ * before the interruption may get it twice.
+ */
+@Component
+@Slf4j
+public class BroadcastScheduler {
+
+    private final IBroadcastNotificationRepository broadcastRepository;
+    private final BroadcastDispatcher broadcastDispatcher;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer dispatchLag;
+    private final int batchSize;
+    private final Duration staleAfter;
+
+    public BroadcastScheduler(IBroadcastNotificationRepository broadcastRepository,
+                              BroadcastDispatcher broadcastDispatcher,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${notifications.broadcast.schedule-batch-size:20}") int batchSize,
+                              @Value("${notifications.broadcast.stale-minutes:10}") long staleMinutes) {
+        this.broadcastRepository = broadcastRepository;
+        this.broadcastDispatcher = broadcastDispatcher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dispatchLag = Timer.builder("broadcast.schedule.lag")
+                .description("Delay between a broadcast's scheduledAt and its dispatch")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+        this.staleAfter = Duration.ofMinutes(staleMinutes);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.broadcast.schedule-poll-ms:15000}")
+    public void releaseDueBroadcasts() {
+        List<Integer> claimed = transactionTemplate.execute(status -> claimDue());
+        if (claimed == null) {
+            return;
+        }
+        for (Integer notificationId : claimed) {
+            try {
+                broadcastDispatcher.dispatch(notificationId);
+            } catch (Exception e) {
+                // Back to SCHEDULED: the next poll claims it again
+                broadcastRepository.requeueScheduled(notificationId);
+                log.warn("⏳ Broadcast {} could not be dispatched, rescheduled: {}", notificationId, e.getMessage());
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLegacyScheduled() {
+        try {
+            int backfilled = broadcastRepository.backfillLegacyScheduled();
+            if (backfilled > 0) {
+                log.info("📅 {} broadcasts scheduled before status tracking are now SCHEDULED", backfilled);
+            }
+        } catch (Exception e) {
+            log.error("❌ Backfill of scheduled broadcasts failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${notifications.broadcast.stale-sweep-ms:60000}",
+            initialDelayString = "${notifications.broadcast.stale-sweep-ms:60000}")
+    public void recoverStaleBroadcasts() {
+        List<Integer> claimed = transactionTemplate.execute(status -> claimStale());
+        if (claimed == null) {
+            return;
+        }
+        for (Integer notificationId : claimed) {
+            try {
+                broadcastDispatcher.dispatch(notificationId);
+            } catch (TaskRejectedException e) {
+                // Still QUEUED with a fresh dispatchedAt: the next sweep after staleAfter retries it
+                log.warn("⏳ Broadcast {} still cannot be queued: {}", notificationId, e.getMessage());
+            }
+        }
+    }
+
+    private List<Integer> claimStale() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> toDispatch = new ArrayList<>();
+        for (BroadcastNotification notification : broadcastRepository.claimStale(now.minus(staleAfter), PageRequest.of(0, batchSize))) {
+            log.warn("♻️ Re-dispatching broadcast {} stuck in {}", notification.getNotificationId(), notification.getStatus());
+            notification.setStatus(BroadcastStatus.QUEUED);
+            notification.setDispatchedAt(now);
+            toDispatch.add(notification.getNotificationId());
+        }
+        return toDispatch;
+    }
+
+    private List<Integer> claimDue() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> toDispatch = new ArrayList<>();
+        for (BroadcastNotification notification : broadcastRepository.claimDue(now, PageRequest.of(0, batchSize))) {
+            if (notification.getExpiresAt() != null && !notification.getExpiresAt().isAfter(now)) {
+                notification.setStatus(BroadcastStatus.EXPIRED);
+                notification.setCompletedAt(now);
+                log.warn("⏰ Broadcast {} expired at {} before it could be sent",
+                        notification.getNotificationId(), notification.getExpiresAt());
+                continue;
+            }
+
+            Duration lag = Duration.between(notification.getScheduledAt(), now);
+            dispatchLag.record(lag);
+            notification.setStatus(BroadcastStatus.QUEUED);
+            notification.setDispatchedAt(now);
+            toDispatch.add(notification.getNotificationId());
+            log.info("📅 Releasing scheduled broadcast {} ({}s late)", notification.getNotificationId(), lag.toSeconds());
+        }
+        return toDispatch;
+    }
+}
@@ -0,0 +1,11 @@
+package com.backend.jibli.adminNotifications;
+
+public enum BroadcastStatus {
+    SCHEDULED,
+    QUEUED,
+    SENDING,
+    COMPLETED,
+    FAILED,
+    // Scheduled broadcast whose expiresAt passed before it could be sent
+    EXPIRED
+}
@@ -1,7 +1,16 @@
 package com.backend.jibli.adminNotifications;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -10,4 +19,62 @@ public interface IBroadcastNotificationRepository extends JpaRepository<Broadcas
     List<BroadcastNotification> findByIsActiveTrue();
     List<BroadcastNotification> findByType(NotificationType type);
     List<BroadcastNotification> findByScheduledAtBeforeAndIsActiveTrue(LocalDateTime now);
+
+    // Lock timeout -2 renders FOR UPDATE SKIP LOCKED, so each due broadcast is claimed by one node only
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT b FROM BroadcastNotification b " +
+            "WHERE b.status = com.backend.jibli.adminNotifications.BroadcastStatus.SCHEDULED " +
+            "AND b.isActive = true AND b.scheduledAt <= :now ORDER BY b.scheduledAt")
+    List<BroadcastNotification> claimDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Hands a claimed broadcast back to the scheduler when it could not be dispatched
+    @Modifying
+    @Transactional
+    @Query("UPDATE BroadcastNotification b SET b.status = com.backend.jibli.adminNotifications.BroadcastStatus.SCHEDULED, " +
+            "b.dispatchedAt = NULL WHERE b.notificationId = :id " +
+            "AND b.status = com.backend.jibli.adminNotifications.BroadcastStatus.QUEUED")
+    int requeueScheduled(@Param("id") Integer id);
+
+    // Scheduled before the status column existed; nothing ever sent them
+    @Modifying
+    @Transactional
+    @Query("UPDATE BroadcastNotification b SET b.status = com.backend.jibli.adminNotifications.BroadcastStatus.SCHEDULED " +
+            "WHERE b.status IS NULL AND b.scheduledAt IS NOT NULL")
+    int backfillLegacyScheduled();
+
+    // QUEUED and SENDING broadcasts nobody has worked on since :staleBefore, see BroadcastScheduler
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT b FROM BroadcastNotification b WHERE b.isActive = true AND (" +
+            "(b.status = com.backend.jibli.adminNotifications.BroadcastStatus.QUEUED " +
+            "AND COALESCE(b.dispatchedAt, b.createdAt) <= :staleBefore) OR " +
+            "(b.status = com.backend.jibli.adminNotifications.BroadcastStatus.SENDING " +
+            "AND COALESCE(b.progressAt, b.startedAt) <= :staleBefore))")
+    List<BroadcastNotification> claimStale(@Param("staleBefore") LocalDateTime staleBefore, Pageable pageable);
+
+    // Only moves a QUEUED broadcast, so a broadcast queued twice is still sent once
+    @Modifying
+    @Transactional
+    @Query("UPDATE BroadcastNotification b SET b.status = com.backend.jibli.adminNotifications.BroadcastStatus.SENDING, " +
+            "b.targetCount = :targetCount, b.sentCount = 0, b.failedCount = 0, b.startedAt = :startedAt, " +
+            "b.progressAt = :startedAt WHERE b.notificationId = :id " +
+            "AND b.status = com.backend.jibli.adminNotifications.BroadcastStatus.QUEUED")
+    int markStarted(@Param("id") Integer id, @Param("targetCount") int targetCount,
+                    @Param("startedAt") LocalDateTime startedAt);
+
+    // Additive so concurrent chunk senders never overwrite each other's counts
+    @Modifying
+    @Transactional
+    @Query("UPDATE BroadcastNotification b SET b.sentCount = COALESCE(b.sentCount, 0) + :sent, " +
+            "b.failedCount = COALESCE(b.failedCount, 0) + :failed, b.progressAt = :now WHERE b.notificationId = :id")
+    int addProgress(@Param("id") Integer id, @Param("sent") int sent, @Param("failed") int failed,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE BroadcastNotification b SET b.status = :status, b.completedAt = :completedAt " +
+            "WHERE b.notificationId = :id")
+    int markFinished(@Param("id") Integer id, @Param("status") BroadcastStatus status,
+                     @Param("completedAt") LocalDateTime completedAt);
 }
\ No newline at end of file
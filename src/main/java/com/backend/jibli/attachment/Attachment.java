@@ -14,7 +14,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "attachments")
+@Table(name = "attachments", indexes = {
+        @Index(name = "idx_attachment_content_hash", columnList = "contentHash"),
+        @Index(name = "idx_attachment_entity", columnList = "entityType, entityId")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,9 +32,11 @@ public class Attachment {
     @Column(nullable = false)
     private String fileType;
 
-    @Lob
-    @Column(nullable = false, columnDefinition = "LONGBLOB")
-    private byte[] data;
+    // SHA-256 of the content; the bytes themselves live in the AttachmentStorage
+    @Column(length = 64)
+    private String contentHash;
+
+    private Long sizeBytes;
 
     @Column(nullable = false)
     private String entityType;
@@ -0,0 +1,48 @@
+package com.backend.jibli.attachment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Deletes stored content no attachment or variant points at anymore. Blobs are shared by
+ * hash, so nothing deletes them inline; this sweep also catches content stored for an
+ * upload whose row was never saved. The grace period leaves alone anything stored
+ * recently, which covers uploads between storing their content and saving their row.
+ */
+@Component
+@Slf4j
+public class AttachmentBlobCollector {
+
+    private final AttachmentStorage attachmentStorage;
+    private final IAttachmentRepository attachmentRepository;
+    private final IAttachmentVariantRepository variantRepository;
+    private final Duration grace;
+
+    public AttachmentBlobCollector(AttachmentStorage attachmentStorage,
+                                   IAttachmentRepository attachmentRepository,
+                                   IAttachmentVariantRepository variantRepository,
+                                   @Value("${attachment.storage.gc-grace-minutes:60}") long graceMinutes) {
+        this.attachmentStorage = attachmentStorage;
+        this.attachmentRepository = attachmentRepository;
+        this.variantRepository = variantRepository;
+        this.grace = Duration.ofMinutes(graceMinutes);
+    }
+
+    @Scheduled(cron = "${attachment.storage.gc-cron:0 45 3 * * *}")
+    public void collect() {
+        try {
+            int deleted = attachmentStorage.deleteUnreferenced(Instant.now().minus(grace),
+                    hash -> attachmentRepository.existsByContentHash(hash) || variantRepository.existsByContentHash(hash));
+            if (deleted > 0) {
+                log.info("🧹 Deleted {} unreferenced attachment blobs", deleted);
+            }
+        } catch (Exception e) {
+            log.error("❌ Attachment blob collection failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.backend.jibli.attachment;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -9,10 +11,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/attachments")
@@ -20,12 +26,18 @@ public class AttachmentController {
 
     private final IAttachmentService attachmentService;
     private final IAttachmentRepository attachmentRepository;
+    private final AttachmentStorage attachmentStorage;
+    private final IAttachmentVariantRepository variantRepository;
 
     @Autowired
     public AttachmentController(IAttachmentService attachmentService,
-                                IAttachmentRepository attachmentRepository) {
+                                IAttachmentRepository attachmentRepository,
+                                AttachmentStorage attachmentStorage,
+                                IAttachmentVariantRepository variantRepository) {
         this.attachmentService = attachmentService;
         this.attachmentRepository = attachmentRepository;
+        this.attachmentStorage = attachmentStorage;
+        this.variantRepository = variantRepository;
     }
 
     @GetMapping
@@ -42,27 +54,67 @@ public class AttachmentController {
                         .body((AttachmentDTO) createErrorResponse("Attachment not found with ID: " + id))); // Pas de cast
     }
 
+    /**
+     * Download by attachment id. The id can be re-pointed at new content, so clients
+     * must revalidate: the strong ETag (content hash) and Last-Modified let Spring
+     * answer If-None-Match / If-Modified-Since with 304, and Range requests get 206.
+     * With {@code ?variant=thumb|medium} the pre-rendered image is served instead,
+     * falling back to the original while it is not rendered yet.
+     */
     @GetMapping("/download/{id}")
-    public ResponseEntity<?> downloadAttachment(@PathVariable Integer id) {
+    public ResponseEntity<?> downloadAttachment(@PathVariable Integer id,
+                                                @RequestParam(value = "variant", required = false) String variant) {
         Optional<Attachment> optionalAttachment = attachmentRepository.findById(id);
         if (optionalAttachment.isPresent()) {
             Attachment attachment = optionalAttachment.get();
-            if (attachment.getData() == null || attachment.getData().length == 0) {
+            if (variant != null && !variant.isBlank()) {
+                ImageVariant imageVariant;
+                try {
+                    imageVariant = ImageVariant.fromParam(variant);
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                            .body(createErrorResponse(e.getMessage()));
+                }
+                Optional<ResponseEntity<Resource>> rendered = variantResponse(attachment, imageVariant);
+                if (rendered.isPresent()) {
+                    return rendered.get();
+                }
+            }
+            Optional<Resource> content = attachmentStorage.load(attachment.getContentHash());
+            if (content.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(createErrorResponse("Attachment data not found for ID: " + id));
             }
-            ByteArrayResource resource = new ByteArrayResource(attachment.getData());
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(attachment.getFileType()))
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + attachment.getFileName() + "\"")
-                    .contentLength(attachment.getData().length)
-                    .body(resource);
+            return contentResponse(attachment.getFileType(), attachment.getFileName(), attachment.getContentHash(),
+                    attachment.getLastUpdated(), content.get(), CacheControl.noCache());
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(createErrorResponse("Attachment not found with ID: " + id)); // Pas de cast
         }
     }
 
+    /**
+     * Content-addressed download: the URL names the bytes, so it can be cached forever.
+     */
+    @GetMapping("/content/{contentHash}")
+    public ResponseEntity<?> downloadContent(@PathVariable String contentHash) {
+        Optional<Attachment> optionalAttachment = attachmentRepository.findFirstByContentHash(contentHash);
+        Optional<Resource> content = optionalAttachment.flatMap(a -> attachmentStorage.load(contentHash));
+        if (content.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(createErrorResponse("Content not found: " + contentHash));
+        }
+        Attachment attachment = optionalAttachment.get();
+        return contentResponse(attachment.getFileType(), attachment.getFileName(), contentHash,
+                attachment.getLastUpdated(), content.get(),
+                CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable());
+    }
+
+    /**
+     * Multipart upload. The container spools the whole part to disk before this method
+     * runs, so {@link UploadBudget} only limits the copy into the store, not the spooling;
+     * large or concurrent uploads should use {@code /attachments/stream}.
+     */
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> createAttachment(
             @RequestParam("file") MultipartFile file,
@@ -74,12 +126,50 @@ public class AttachmentController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(createErrorResponse(e.getMessage()));
+        } catch (UploadTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(createErrorResponse(e.getMessage()));
+        } catch (UploadBudgetExceededException e) {
+            return uploadBudgetExceeded(e);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createErrorResponse("Failed to upload attachment: " + e.getMessage()));
         }
     }
 
+    /**
+     * Raw-body upload: the request body is the file itself (Content-Type is the file type)
+     * and is streamed straight to the store without multipart parsing.
+     */
+    @PostMapping("/stream")
+    public ResponseEntity<?> streamAttachment(
+            @RequestParam("fileName") String fileName,
+            @RequestParam("entityType") String entityType,
+            @RequestParam("entityId") Integer entityId,
+            HttpServletRequest request) {
+        try {
+            String contentType = null;
+            if (request.getContentType() != null) {
+                MediaType mediaType = MediaType.parseMediaType(request.getContentType());
+                contentType = mediaType.getType() + "/" + mediaType.getSubtype();
+            }
+            AttachmentDTO created = attachmentService.createAttachment(request.getInputStream(),
+                    request.getContentLengthLong(), fileName, contentType, entityType, entityId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(createErrorResponse(e.getMessage()));
+        } catch (UploadTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(createErrorResponse(e.getMessage()));
+        } catch (UploadBudgetExceededException e) {
+            return uploadBudgetExceeded(e);
+        } catch (IOException | RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to upload attachment: " + e.getMessage()));
+        }
+    }
+
     @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> updateAttachment(
             @PathVariable Integer id,
@@ -94,6 +184,11 @@ public class AttachmentController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(createErrorResponse(e.getMessage()));
+        } catch (UploadTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(createErrorResponse(e.getMessage()));
+        } catch (UploadBudgetExceededException e) {
+            return uploadBudgetExceeded(e);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createErrorResponse("Failed to update attachment: " + e.getMessage()));
@@ -132,6 +227,25 @@ public class AttachmentController {
         }
     }
 
+    /**
+     * Metadata of the attachments of many entities at once, keyed by entity id.
+     * Reads only the metadata columns; use the download endpoints for the content.
+     */
+    @PostMapping("/metadata")
+    public ResponseEntity<?> getAttachmentMetadata(@RequestBody AttachmentMetadataRequest request) {
+        try {
+            Map<Integer, List<AttachmentDTO>> attachments = attachmentService
+                    .getAttachmentMetadata(request.getEntityType(), request.getEntityIds());
+            return ResponseEntity.ok(attachments);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to retrieve attachments: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/product/{productId}")
     public ResponseEntity<?> getAttachmentsByProduct(@PathVariable Integer productId) {
         try {
@@ -147,6 +261,37 @@ public class AttachmentController {
     }
 
 
+    // Only serve a variant rendered from the attachment's current content
+    private Optional<ResponseEntity<Resource>> variantResponse(Attachment attachment, ImageVariant imageVariant) {
+        return variantRepository.findByAttachmentIdAndVariant(attachment.getAttachmentId(), imageVariant)
+                .filter(v -> v.getSourceHash() != null && v.getSourceHash().equals(attachment.getContentHash()))
+                .flatMap(v -> attachmentStorage.load(v.getContentHash())
+                        .map(resource -> contentResponse(v.getFileType(),
+                                imageVariant.name().toLowerCase() + "-" + attachment.getFileName(),
+                                v.getContentHash(), attachment.getLastUpdated(), resource, CacheControl.noCache())));
+    }
+
+    // Body is streamed from the store; Content-Length and Range slicing are handled by Spring
+    private ResponseEntity<Resource> contentResponse(String fileType, String fileName, String contentHash,
+                                                     LocalDateTime lastModified, Resource content,
+                                                     CacheControl cacheControl) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(fileType))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .eTag(contentHash)
+                .cacheControl(cacheControl);
+        if (lastModified != null) {
+            builder.lastModified(lastModified.atZone(ZoneId.systemDefault()));
+        }
+        return builder.body(content);
+    }
+
+    private ResponseEntity<Map<String, Object>> uploadBudgetExceeded(UploadBudgetExceededException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(createErrorResponse(e.getMessage()));
+    }
+
     private Map<String, Object> createErrorResponse(String message) {
         Map<String, Object> error = new HashMap<>();
         error.put("error", message);
@@ -0,0 +1,15 @@
+package com.backend.jibli.attachment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentMetadataRequest {
+    private String entityType;
+    private List<Integer> entityIds;
+}
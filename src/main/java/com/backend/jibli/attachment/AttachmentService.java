@@ -6,12 +6,20 @@ import com.backend.jibli.user.IUserRepository;
 import com.backend.jibli.company.ICompanyRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,24 +35,37 @@ public class AttachmentService implements IAttachmentService {
             "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"
     );
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
+    private static final int MAX_METADATA_ENTITIES = 200;
 
     private final IAttachmentRepository attachmentRepository;
     private final ICategoryRepository categoryRepository;
     private final IProductRepository productRepository;
     private final IUserRepository userRepository;
     private final ICompanyRepository companyRepository;
+    private final AttachmentStorage attachmentStorage;
+    private final IAttachmentVariantRepository variantRepository;
+    private final AttachmentVariantGenerator variantGenerator;
+    private final UploadBudget uploadBudget;
 
     @Autowired
     public AttachmentService(IAttachmentRepository attachmentRepository,
                              ICategoryRepository categoryRepository,
                              IProductRepository productRepository,
                              IUserRepository userRepository,
-                             ICompanyRepository companyRepository) {
+                             ICompanyRepository companyRepository,
+                             AttachmentStorage attachmentStorage,
+                             IAttachmentVariantRepository variantRepository,
+                             AttachmentVariantGenerator variantGenerator,
+                             UploadBudget uploadBudget) {
         this.attachmentRepository = attachmentRepository;
         this.categoryRepository = categoryRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
         this.companyRepository = companyRepository;
+        this.attachmentStorage = attachmentStorage;
+        this.variantRepository = variantRepository;
+        this.variantGenerator = variantGenerator;
+        this.uploadBudget = uploadBudget;
     }
 
     @Override
@@ -70,22 +91,51 @@ public class AttachmentService implements IAttachmentService {
             Attachment attachment = new Attachment();
             attachment.setFileName(file.getOriginalFilename());
             attachment.setFileType(file.getContentType());
-            attachment.setData(file.getBytes());
+            storeContent(attachment, file);
 
             // Set generic fields
             String normalizedType = entityType.toUpperCase();
             attachment.setEntityType(normalizedType);
             attachment.setEntityId(entityId);
 
-            Attachment saved = attachmentRepository.save(attachment);
-            return mapToDTO(saved);
+            return mapToDTO(saveNew(attachment));
         } catch (IOException e) {
             throw new RuntimeException("Failed to read file data: " + e.getMessage(), e);
+        } catch (UploadBudgetExceededException | UploadTooLargeException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Failed to store attachment: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public AttachmentDTO createAttachment(InputStream content, long contentLength, String fileName,
+                                          String contentType, String entityType, Integer entityId) {
+        if (fileName == null || fileName.trim().isEmpty()) {
+            throw new IllegalArgumentException("File must have a valid filename");
+        }
+        validateContentType(contentType);
+        validateSize(contentLength);
+        validateEntity(entityType, entityId);
+
+        try {
+            Attachment attachment = new Attachment();
+            attachment.setFileName(fileName);
+            attachment.setFileType(contentType.toLowerCase());
+            // Without a Content-Length the whole per-file allowance is reserved
+            storeContent(attachment, content, contentLength >= 0 ? contentLength : MAX_FILE_SIZE);
+            if (attachment.getSizeBytes() == 0) {
+                throw new IllegalArgumentException("File is empty (0 bytes)");
+            }
+
+            attachment.setEntityType(entityType.toUpperCase());
+            attachment.setEntityId(entityId);
+            return mapToDTO(saveNew(attachment));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read file data: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public Optional<AttachmentDTO> updateAttachment(Integer id, MultipartFile file,
                                                     String entityType, Integer entityId) {
@@ -93,11 +143,12 @@ public class AttachmentService implements IAttachmentService {
                 .map(attachment -> {
                     try {
                         // Update file if provided
+                        String previousHash = attachment.getContentHash();
                         if (file != null && !file.isEmpty()) {
                             validateFile(file);
                             attachment.setFileName(file.getOriginalFilename());
                             attachment.setFileType(file.getContentType());
-                            attachment.setData(file.getBytes());
+                            storeContent(attachment, file);
                         }
 
                         // Update entity reference if provided
@@ -111,6 +162,12 @@ public class AttachmentService implements IAttachmentService {
                         }
 
                         Attachment updated = attachmentRepository.save(attachment);
+                        if (previousHash == null || !previousHash.equals(updated.getContentHash())) {
+                            deleteVariants(updated.getAttachmentId());
+                            if (AttachmentVariantGenerator.supports(updated)) {
+                                variantGenerator.generateVariants(updated.getAttachmentId());
+                            }
+                        }
                         return mapToDTO(updated);
                     } catch (IOException e) {
                         throw new RuntimeException("Failed to read file data: " + e.getMessage(), e);
@@ -119,12 +176,15 @@ public class AttachmentService implements IAttachmentService {
     }
 
     @Override
+    @Transactional
     public boolean deleteAttachment(Integer id) {
-        if (attachmentRepository.existsById(id)) {
-            attachmentRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return attachmentRepository.findById(id)
+                .map(attachment -> {
+                    deleteVariants(attachment.getAttachmentId());
+                    attachmentRepository.delete(attachment);
+                    return true;
+                })
+                .orElse(false);
     }
 
     @Override
@@ -134,18 +194,69 @@ public class AttachmentService implements IAttachmentService {
             throw new IllegalArgumentException("Entity ID is required");
         }
 
-        return attachmentRepository.findByEntityTypeAndEntityId(entityType.toUpperCase(), entityId)
-                .stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return attachmentRepository.findMetadataByEntity(entityType.toUpperCase(), entityId);
     }
 
     @Override
     public List<AttachmentDTO> findByProductProductId(Integer productId) {
-        return attachmentRepository.findByProductProductId(productId)
-                .stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return attachmentRepository.findMetadataByEntity("PRODUCT", productId);
+    }
+
+    @Override
+    public Map<Integer, List<AttachmentDTO>> getAttachmentMetadata(String entityType, List<Integer> entityIds) {
+        validateEntityType(entityType);
+        if (entityIds == null || entityIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one entity ID is required");
+        }
+        Set<Integer> ids = entityIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.size() > MAX_METADATA_ENTITIES) {
+            throw new IllegalArgumentException("At most " + MAX_METADATA_ENTITIES + " entity IDs per request");
+        }
+
+        // Every requested id gets an entry, in request order, even when it has no attachment
+        Map<Integer, List<AttachmentDTO>> result = new LinkedHashMap<>();
+        ids.forEach(id -> result.put(id, new ArrayList<>()));
+        if (!ids.isEmpty()) {
+            attachmentRepository.findMetadataByEntityIds(entityType.toUpperCase(), ids)
+                    .forEach(dto -> result.get(dto.getEntityId()).add(dto));
+        }
+        return result;
+    }
+
+    private Attachment saveNew(Attachment attachment) {
+        Attachment saved = attachmentRepository.save(attachment);
+        if (AttachmentVariantGenerator.supports(saved)) {
+            variantGenerator.generateVariants(saved.getAttachmentId());
+        }
+        return saved;
+    }
+
+    private void storeContent(Attachment attachment, MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            storeContent(attachment, in, file.getSize());
+        }
+    }
+
+    // Streams into the store; the body is never held in memory as a whole
+    private void storeContent(Attachment attachment, InputStream content, long reservedBytes) throws IOException {
+        uploadBudget.acquire(reservedBytes);
+        try {
+            StoredContent stored = attachmentStorage.store(new SizeLimitedInputStream(content, MAX_FILE_SIZE));
+            attachment.setContentHash(stored.contentHash());
+            attachment.setSizeBytes(stored.sizeBytes());
+        } finally {
+            uploadBudget.release(reservedBytes);
+        }
+    }
+
+    // Content no longer referenced is left to AttachmentBlobCollector
+    private void deleteVariants(Integer attachmentId) {
+        List<AttachmentVariant> variants = variantRepository.findByAttachmentId(attachmentId);
+        if (!variants.isEmpty()) {
+            variantRepository.deleteAll(variants);
+        }
     }
 
     private void validateFile(MultipartFile file) {
@@ -158,23 +269,29 @@ public class AttachmentService implements IAttachmentService {
             throw new IllegalArgumentException("File must have a valid filename");
         }
 
-        String contentType = file.getContentType();
+        validateContentType(file.getContentType());
+        validateSize(file.getSize());
+
+        if (file.getSize() == 0) {
+            throw new IllegalArgumentException("File is empty (0 bytes)");
+        }
+    }
+
+    private void validateContentType(String contentType) {
         if (contentType == null || !ALLOWED_FILE_TYPES.contains(contentType.toLowerCase())) {
             throw new IllegalArgumentException(
                     "Invalid file type: " + contentType + ". Allowed types: " +
                             String.join(", ", ALLOWED_FILE_TYPES)
             );
         }
+    }
 
-        if (file.getSize() > MAX_FILE_SIZE) {
-            throw new IllegalArgumentException(
-                    "File size (" + file.getSize() + " bytes) exceeds maximum allowed size of 10MB"
+    private void validateSize(long size) {
+        if (size > MAX_FILE_SIZE) {
+            throw new UploadTooLargeException(
+                    "File size (" + size + " bytes) exceeds maximum allowed size of 10MB"
             );
         }
-
-        if (file.getSize() == 0) {
-            throw new IllegalArgumentException("File is empty (0 bytes)");
-        }
     }
 
     private void validateEntity(String entityType, Integer entityId) {
@@ -230,7 +347,8 @@ public class AttachmentService implements IAttachmentService {
                 attachment.getAttachmentId(),
                 attachment.getFileName(),
                 attachment.getFileType(),
-                attachment.getData(), // Used to calculate size only
+                attachment.getSizeBytes() != null ? attachment.getSizeBytes() : 0L,
+                attachment.getContentHash(),
                 attachment.getEntityType(),
                 attachment.getEntityId(),
                 attachment.getCreatedAt(),
@@ -0,0 +1,35 @@
+package com.backend.jibli.attachment;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Blob store for attachment content. Blobs are addressed by the SHA-256 hash of
+ * their bytes, so identical uploads share one stored copy and the attachments
+ * table only keeps metadata.
+ */
+public interface AttachmentStorage {
+
+    /**
+     * Stream the content into the store, hashing it on the way in.
+     */
+    StoredContent store(InputStream content) throws IOException;
+
+    Optional<Resource> load(String contentHash);
+
+    boolean exists(String contentHash);
+
+    void delete(String contentHash);
+
+    /**
+     * Deletes the blobs last stored before {@code cutoff} for which {@code isReferenced}
+     * is false, and returns how many were deleted. Storing existing content again counts
+     * as storing it, so a blob an upload is about to reference is never collected.
+     */
+    int deleteUnreferenced(Instant cutoff, Predicate<String> isReferenced) throws IOException;
+}
@@ -0,0 +1,49 @@
+package com.backend.jibli.attachment;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "attachment_variants", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_attachment_variant", columnNames = {"attachmentId", "variant"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentVariant {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer variantId;
+
+    @Column(nullable = false)
+    private Integer attachmentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ImageVariant variant;
+
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false)
+    private String fileType;
+
+    private Long sizeBytes;
+    private Integer width;
+    private Integer height;
+
+    // Hash of the original the variant was rendered from, to detect stale renders
+    @Column(length = 64)
+    private String sourceHash;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,189 @@
+package com.backend.jibli.attachment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Renders the {@link ImageVariant} derivatives of image attachments off the request
+ * thread. Output is JPEG (PNG when the source has transparency): the JDK ships no
+ * WebP encoder, and JPEG at this size already brings a thumbnail down to a few KB.
+ */
+@Component
+@Slf4j
+public class AttachmentVariantGenerator {
+
+    private static final List<String> VARIANT_ENTITY_TYPES = List.of("PRODUCT", "CATEGORY", "COMPANY");
+    private static final List<String> SOURCE_TYPES = List.of("image/jpeg", "image/png", "image/gif");
+
+    private final IAttachmentRepository attachmentRepository;
+    private final IAttachmentVariantRepository variantRepository;
+    private final AttachmentStorage attachmentStorage;
+    private final float jpegQuality;
+
+    public AttachmentVariantGenerator(IAttachmentRepository attachmentRepository,
+                                      IAttachmentVariantRepository variantRepository,
+                                      AttachmentStorage attachmentStorage,
+                                      @Value("${attachment.variants.jpeg-quality:0.8}") float jpegQuality) {
+        this.attachmentRepository = attachmentRepository;
+        this.variantRepository = variantRepository;
+        this.attachmentStorage = attachmentStorage;
+        this.jpegQuality = jpegQuality;
+    }
+
+    public static boolean supports(Attachment attachment) {
+        return attachment.getFileType() != null
+                && SOURCE_TYPES.contains(attachment.getFileType().toLowerCase())
+                && VARIANT_ENTITY_TYPES.contains(attachment.getEntityType());
+    }
+
+    @Async("attachmentVariantExecutor")
+    public void generateVariants(Integer attachmentId) {
+        Optional<Attachment> optionalAttachment = attachmentRepository.findById(attachmentId);
+        if (optionalAttachment.isEmpty() || !supports(optionalAttachment.get())) {
+            return;
+        }
+        Attachment attachment = optionalAttachment.get();
+        Optional<Resource> source = attachmentStorage.load(attachment.getContentHash());
+        if (source.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (ImageVariant variant : ImageVariant.values()) {
+                BufferedImage image = readScaled(source.get(), variant.getMaxDimension());
+                if (image == null) {
+                    log.debug("Attachment {} is not a decodable image, no variants", attachmentId);
+                    return;
+                }
+                if (!saveVariant(attachment, variant, resize(image, variant.getMaxDimension()))) {
+                    log.debug("Attachment {} deleted while rendering, variants dropped", attachmentId);
+                    return;
+                }
+            }
+            log.info("🖼️ Variants rendered for attachment {}", attachmentId);
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to render variants for attachment {}: {}", attachmentId, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns false when the attachment was deleted meanwhile, in which case no variant row
+     * is left behind. A replaced rendition's previous blob, like the one stored here when
+     * the attachment is gone, is left to {@link AttachmentBlobCollector}.
+     */
+    private boolean saveVariant(Attachment attachment, ImageVariant variant, BufferedImage image) throws IOException {
+        boolean hasAlpha = image.getColorModel().hasAlpha();
+        byte[] encoded = hasAlpha ? encodePng(image) : encodeJpeg(image);
+
+        StoredContent stored = attachmentStorage.store(new ByteArrayInputStream(encoded));
+        if (!attachmentRepository.existsById(attachment.getAttachmentId())) {
+            return false;
+        }
+        AttachmentVariant entity = variantRepository
+                .findByAttachmentIdAndVariant(attachment.getAttachmentId(), variant)
+                .orElseGet(AttachmentVariant::new);
+        entity.setAttachmentId(attachment.getAttachmentId());
+        entity.setVariant(variant);
+        entity.setContentHash(stored.contentHash());
+        entity.setFileType(hasAlpha ? "image/png" : "image/jpeg");
+        entity.setSizeBytes(stored.sizeBytes());
+        entity.setWidth(image.getWidth());
+        entity.setHeight(image.getHeight());
+        entity.setSourceHash(attachment.getContentHash());
+        AttachmentVariant saved = variantRepository.save(entity);
+        if (!attachmentRepository.existsById(attachment.getAttachmentId())) {
+            // Deleted between the check and the save
+            variantRepository.delete(saved);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Decode with source subsampling so a large photo is never fully expanded in memory
+     * when only a small rendition is needed.
+     */
+    private BufferedImage readScaled(Resource source, int maxDimension) throws IOException {
+        try (InputStream in = source.getInputStream();
+             ImageInputStream imageInput = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longest / (maxDimension * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, int maxDimension) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, type);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -1,10 +1,35 @@
 package com.backend.jibli.attachment;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface IAttachmentRepository extends JpaRepository<Attachment, Integer> {
     List<Attachment> findByEntityTypeAndEntityId(String entityType, Integer entityId);
     List<Attachment> findByProductProductId(Integer productId);
-}
\ No newline at end of file
+    boolean existsByContentHash(String contentHash);
+    Optional<Attachment> findFirstByContentHash(String contentHash);
+
+    @Query("""
+    SELECT new com.backend.jibli.attachment.AttachmentDTO(
+        a.attachmentId, a.fileName, a.fileType, COALESCE(a.sizeBytes, 0L), a.contentHash,
+        a.entityType, a.entityId, a.createdAt, a.lastUpdated)
+    FROM Attachment a
+    WHERE a.entityType = :entityType AND a.entityId = :entityId
+    ORDER BY a.attachmentId
+    """)
+    List<AttachmentDTO> findMetadataByEntity(String entityType, Integer entityId);
+
+    @Query("""
+    SELECT new com.backend.jibli.attachment.AttachmentDTO(
+        a.attachmentId, a.fileName, a.fileType, COALESCE(a.sizeBytes, 0L), a.contentHash,
+        a.entityType, a.entityId, a.createdAt, a.lastUpdated)
+    FROM Attachment a
+    WHERE a.entityType = :entityType AND a.entityId IN :entityIds
+    ORDER BY a.entityId, a.attachmentId
+    """)
+    List<AttachmentDTO> findMetadataByEntityIds(String entityType, Collection<Integer> entityIds);
+}
@@ -0,0 +1,12 @@
+package com.backend.jibli.attachment;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface IAttachmentVariantRepository extends JpaRepository<AttachmentVariant, Integer> {
+    Optional<AttachmentVariant> findByAttachmentIdAndVariant(Integer attachmentId, ImageVariant variant);
+    List<AttachmentVariant> findByAttachmentId(Integer attachmentId);
+    boolean existsByContentHash(String contentHash);
+}
@@ -0,0 +1,29 @@
+package com.backend.jibli.attachment;
+
+/**
+ * Pre-rendered sizes produced for image attachments. The size is the bound of the
+ * longest edge; images are only ever scaled down.
+ */
+public enum ImageVariant {
+    THUMB(200),
+    MEDIUM(800);
+
+    private final int maxDimension;
+
+    ImageVariant(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public static ImageVariant fromParam(String value) {
+        for (ImageVariant variant : values()) {
+            if (variant.name().equalsIgnoreCase(value)) {
+                return variant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown variant: " + value + ". Must be one of: thumb, medium");
+    }
+}
@@ -0,0 +1,121 @@
+package com.backend.jibli.attachment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * One-shot job that drains the legacy {@code attachments.data} LONGBLOB column into
+ * the {@link AttachmentStorage}. Rows are processed one blob at a time and the column
+ * is nulled once the content is safely stored, so the job can be interrupted and
+ * resumed on the next start. It does nothing once no row holds inline data.
+ */
+@Component
+@ConditionalOnProperty(name = "attachment.storage.migrate-legacy-blobs", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class LegacyAttachmentBlobMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AttachmentStorage attachmentStorage;
+    private final int batchSize;
+
+    public LegacyAttachmentBlobMigration(JdbcTemplate jdbcTemplate,
+                                         AttachmentStorage attachmentStorage,
+                                         @Value("${attachment.storage.migration-batch-size:50}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.attachmentStorage = attachmentStorage;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        try {
+            if (!legacyColumnExists()) {
+                return;
+            }
+            relaxLegacyColumn();
+
+            int migrated = 0;
+            int failed = 0;
+            int lastId = 0;
+            List<Integer> ids;
+            do {
+                ids = jdbcTemplate.queryForList(
+                        "SELECT attachment_id FROM attachments WHERE data IS NOT NULL AND attachment_id > ? " +
+                                "ORDER BY attachment_id LIMIT ?",
+                        Integer.class, lastId, batchSize);
+                for (Integer id : ids) {
+                    if (migrateRow(id)) {
+                        migrated++;
+                    } else {
+                        failed++;
+                    }
+                    lastId = id;
+                }
+            } while (ids.size() == batchSize);
+
+            if (migrated > 0 || failed > 0) {
+                log.info("✅ Legacy attachment migration done - Migrated: {}, Failed: {}", migrated, failed);
+            }
+        } catch (Exception e) {
+            log.error("❌ Legacy attachment migration aborted: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean migrateRow(Integer id) {
+        try {
+            StoredContent stored = jdbcTemplate.query(
+                    "SELECT data FROM attachments WHERE attachment_id = ?",
+                    rs -> {
+                        if (!rs.next()) {
+                            return null;
+                        }
+                        try (InputStream in = rs.getBinaryStream(1)) {
+                            return in != null ? attachmentStorage.store(in) : null;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    },
+                    id);
+            if (stored == null) {
+                return false;
+            }
+            jdbcTemplate.update(
+                    "UPDATE attachments SET content_hash = ?, size_bytes = ?, data = NULL WHERE attachment_id = ?",
+                    stored.contentHash(), stored.sizeBytes(), id);
+            return true;
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to migrate attachment {}: {}", id, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean legacyColumnExists() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'attachments' AND COLUMN_NAME = 'data'",
+                Integer.class);
+        return count != null && count > 0;
+    }
+
+    // The old column was NOT NULL; new rows no longer write it
+    private void relaxLegacyColumn() {
+        String nullable = jdbcTemplate.queryForObject(
+                "SELECT IS_NULLABLE FROM information_schema.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'attachments' AND COLUMN_NAME = 'data'",
+                String.class);
+        if ("NO".equalsIgnoreCase(nullable)) {
+            jdbcTemplate.execute("ALTER TABLE attachments MODIFY data LONGBLOB NULL");
+            log.info("🔧 attachments.data is now nullable");
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.backend.jibli.attachment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Default {@link AttachmentStorage}: blobs live on the local filesystem under
+ * {@code <root>/<hash[0..2]>/<hash[2..4]>/<hash>}.
+ */
+@Component
+@ConditionalOnProperty(name = "attachment.storage.type", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalAttachmentStorage implements AttachmentStorage {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String GC_SUFFIX = ".gc";
+
+    private final Path root;
+    private final Path tmpDir;
+
+    public LocalAttachmentStorage(@Value("${attachment.storage.local.root:uploads/attachments}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.tmpDir = this.root.resolve("tmp");
+        try {
+            Files.createDirectories(tmpDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create attachment storage at " + this.root, e);
+        }
+        log.info("📁 Attachment storage root: {}", this.root);
+    }
+
+    @Override
+    public StoredContent store(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        long size = 0;
+        try {
+            try (DigestInputStream in = new DigestInputStream(content, digest);
+                 OutputStream out = Files.newOutputStream(tmp)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    size += read;
+                }
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathFor(hash);
+            if (refresh(target)) {
+                // Same bytes already stored - keep the existing copy
+                Files.deleteIfExists(tmp);
+            } else {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(tmp, target);
+            }
+            return new StoredContent(hash, size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Resource> load(String contentHash) {
+        if (!isValidHash(contentHash)) {
+            return Optional.empty();
+        }
+        Path path = pathFor(contentHash);
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    @Override
+    public boolean exists(String contentHash) {
+        return isValidHash(contentHash) && Files.isRegularFile(pathFor(contentHash));
+    }
+
+    @Override
+    public void delete(String contentHash) {
+        if (!isValidHash(contentHash)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(pathFor(contentHash));
+        } catch (IOException e) {
+            log.warn("⚠️ Failed to delete blob {}: {}", contentHash, e.getMessage());
+        }
+    }
+
+    @Override
+    public int deleteUnreferenced(Instant cutoff, Predicate<String> isReferenced) throws IOException {
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(root)) {
+            Iterator<Path> blobs = files
+                    .filter(path -> !path.startsWith(tmpDir))
+                    .filter(path -> isValidHash(path.getFileName().toString()))
+                    .filter(path -> modifiedBefore(path, cutoff))
+                    .iterator();
+            while (blobs.hasNext()) {
+                if (collect(blobs.next(), cutoff, isReferenced)) {
+                    deleted++;
+                }
+            }
+        }
+        cleanTmp(cutoff);
+        return deleted;
+    }
+
+    /**
+     * The blob is first moved aside, then checked again. A concurrent store() of the same
+     * bytes either refreshed it before the move, and it is put back, or finds it missing
+     * and writes its own copy.
+     */
+    private boolean collect(Path blob, Instant cutoff, Predicate<String> isReferenced) throws IOException {
+        String hash = blob.getFileName().toString();
+        Path aside = tmpDir.resolve(hash + GC_SUFFIX);
+        try {
+            Files.move(blob, aside, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        boolean keep;
+        try {
+            keep = !modifiedBefore(aside, cutoff) || isReferenced.test(hash);
+        } catch (RuntimeException e) {
+            restore(aside, blob);
+            throw e;
+        }
+        if (keep) {
+            restore(aside, blob);
+            return false;
+        }
+        Files.deleteIfExists(aside);
+        return true;
+    }
+
+    // Abandoned upload parts are deleted; blobs left aside by an interrupted collection go back
+    private void cleanTmp(Instant cutoff) throws IOException {
+        try (Stream<Path> files = Files.list(tmpDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(GC_SUFFIX)) {
+                    String hash = name.substring(0, name.length() - GC_SUFFIX.length());
+                    if (isValidHash(hash)) {
+                        restore(file, pathFor(hash));
+                    }
+                } else if (modifiedBefore(file, cutoff)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private void restore(Path aside, Path blob) throws IOException {
+        if (Files.exists(blob)) {
+            // A concurrent upload already wrote the same bytes back
+            Files.deleteIfExists(aside);
+            return;
+        }
+        Files.createDirectories(blob.getParent());
+        Files.move(aside, blob, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Marks existing content as freshly stored; false when there is none
+    private static boolean refresh(Path target) throws IOException {
+        try {
+            Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static boolean modifiedBefore(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void moveIntoPlace(Path tmp, Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Concurrent upload of the same content won the race
+            Files.deleteIfExists(tmp);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path pathFor(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static boolean isValidHash(String hash) {
+        return hash != null && hash.length() == 64 && hash.chars().allMatch(c -> (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
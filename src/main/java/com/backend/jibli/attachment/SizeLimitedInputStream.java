@@ -0,0 +1,52 @@
+package com.backend.jibli.attachment;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Fails the read as soon as more than {@code maxBytes} have been consumed, so an
+ * upload without (or lying about) Content-Length cannot fill the disk.
+ */
+class SizeLimitedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private long count;
+
+    SizeLimitedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            checkLimit(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            checkLimit(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        checkLimit(skipped);
+        return skipped;
+    }
+
+    private void checkLimit(long read) {
+        count += read;
+        if (count > maxBytes) {
+            throw new UploadTooLargeException("File exceeds maximum allowed size of " + maxBytes + " bytes");
+        }
+    }
+}
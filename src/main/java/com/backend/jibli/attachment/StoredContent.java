@@ -0,0 +1,7 @@
+package com.backend.jibli.attachment;
+
+/**
+ * Result of writing a blob to the {@link AttachmentStorage}.
+ */
+public record StoredContent(String contentHash, long sizeBytes) {
+}
@@ -0,0 +1,43 @@
+package com.backend.jibli.attachment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide cap on the number of upload bytes being written to the store at the
+ * same time. Callers reserve the expected size before reading the body and release
+ * it when done; when the budget is exhausted the upload is refused instead of queued.
+ * Only the raw-body {@code /attachments/stream} upload is refused before its body is read;
+ * a multipart part has already been spooled to disk by the container when it is charged.
+ */
+@Component
+public class UploadBudget {
+
+    private final long maxInFlightBytes;
+    private final AtomicLong inFlightBytes = new AtomicLong();
+
+    public UploadBudget(@Value("${attachment.upload.max-in-flight-bytes:104857600}") long maxInFlightBytes) {
+        this.maxInFlightBytes = maxInFlightBytes;
+    }
+
+    public void acquire(long bytes) {
+        long current;
+        do {
+            current = inFlightBytes.get();
+            if (current + bytes > maxInFlightBytes) {
+                throw new UploadBudgetExceededException(
+                        "Too many uploads in progress, please retry shortly");
+            }
+        } while (!inFlightBytes.compareAndSet(current, current + bytes));
+    }
+
+    public void release(long bytes) {
+        inFlightBytes.addAndGet(-bytes);
+    }
+
+    public long getInFlightBytes() {
+        return inFlightBytes.get();
+    }
+}
@@ -0,0 +1,10 @@
+package com.backend.jibli.attachment;
+
+public class UploadBudgetExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UploadBudgetExceededException(String message) {
+        super(message);
+    }
+}
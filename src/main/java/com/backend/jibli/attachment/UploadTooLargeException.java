@@ -0,0 +1,10 @@
+package com.backend.jibli.attachment;
+
+public class UploadTooLargeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UploadTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -222,12 +222,13 @@ public class CartItemService implements ICartItemService {
                     product.getAttachments() != null
                             ? product.getAttachments().stream().map(a -> a.getAttachmentId()).toList()
                             : null,
-                    product.getReviews() != null
-                            ? product.getReviews().stream().map(r -> r.getReviewId()).toList()
-                            : null,
+                    null,
                     product.getOrderItems() != null
                             ? product.getOrderItems().stream().map(o -> o.getOrderItemId()).toList()
-                            : null
+                            : null,
+                    product.getRatingAverage(),
+                    product.getRatingCount(),
+                    null
             );
         }
 
@@ -0,0 +1,8 @@
+package com.backend.jibli.category;
+
+/**
+ * Published after a category is created, updated or deleted. companyId is the owning
+ * company at the time of the change, null if the category has none.
+ */
+public record CategoryChangedEvent(Integer categoryId, Integer companyId, boolean deleted) {
+}
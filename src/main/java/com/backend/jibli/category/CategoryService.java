@@ -5,6 +5,7 @@ import com.backend.jibli.attachment.AttachmentDTO;
 import com.backend.jibli.product.Product;
 import com.backend.jibli.attachment.IAttachmentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -17,11 +18,13 @@ public class CategoryService implements ICategoryService {
 
     private final ICategoryRepository categoryRepository;
     private final IAttachmentService attachmentService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CategoryService(ICategoryRepository categoryRepository, IAttachmentService attachmentService) {
+    public CategoryService(ICategoryRepository categoryRepository, IAttachmentService attachmentService, ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
         this.attachmentService = attachmentService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -47,6 +50,7 @@ public class CategoryService implements ICategoryService {
         }
         Category category = mapToEntity(dto);
         Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getCategoryId(), companyIdOf(saved), false));
         return mapToDTO(saved);
     }
 
@@ -64,17 +68,20 @@ public class CategoryService implements ICategoryService {
                     if (dto.getDescription() != null) category.setDescription(dto.getDescription());
                     if (dto.getIconId() != null) category.setIconId(dto.getIconId());
                     Category updated = categoryRepository.save(category);
+                    eventPublisher.publishEvent(new CategoryChangedEvent(updated.getCategoryId(), companyIdOf(updated), false));
                     return mapToDTO(updated);
                 });
     }
 
     @Override
     public boolean deleteCategory(Integer id) {
-        if (categoryRepository.existsById(id)) {
-            categoryRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return categoryRepository.findById(id)
+                .map(category -> {
+                    categoryRepository.delete(category);
+                    eventPublisher.publishEvent(new CategoryChangedEvent(id, companyIdOf(category), true));
+                    return true;
+                })
+                .orElse(false);
     }
 
     @Override
@@ -101,6 +108,10 @@ public class CategoryService implements ICategoryService {
                 .collect(Collectors.toList());
     }
 
+    private static Integer companyIdOf(Category category) {
+        return category.getCompany() != null ? category.getCompany().getCompanyId() : null;
+    }
+
     private CategoryDTO mapToDTO(Category category) {
         if (category == null) return null;
 
@@ -11,6 +11,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -58,9 +59,19 @@ public class Company {
     @Column(name = "company_status")
     private CompanyStatus companyStatus = CompanyStatus.INACTIVE;
 
-    @Column(name = "average_rating")
+    // averageRating = ratingSum / ratingCount, maintained by ReviewService. Not updatable
+    // so saving a stale entity cannot overwrite a concurrent delta.
+    @Column(name = "average_rating", updatable = false)
     private Double averageRating;
 
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long ratingSum = 0L;
+
+    @Column(name = "rating_count", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long ratingCount = 0L;
+
     @Column(name = "delivery_fee")
     private Double deliveryFee;
 
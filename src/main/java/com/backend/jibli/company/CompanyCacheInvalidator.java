@@ -0,0 +1,70 @@
+package com.backend.jibli.company;
+
+import com.backend.jibli.category.CategoryChangedEvent;
+import com.backend.jibli.product.ProductChangedEvent;
+import com.backend.jibli.review.ReviewChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts exactly the company cache entries a mutation can affect. Runs after commit so a
+ * concurrent read cannot put the pre-commit state back into the cache.
+ */
+@Component
+@Slf4j
+public class CompanyCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    public CompanyCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompanyChanged(CompanyChangedEvent event) {
+        evict(CompanyCacheNames.COMPANY_BY_ID, event.companyId());
+        evict(CompanyCacheNames.COMPANY_WITH_PRODUCTS, event.companyId());
+        evict(CompanyCacheNames.COMPANY_WITH_CATEGORIES, event.companyId());
+        clear(CompanyCacheNames.ACTIVE_COMPANIES);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(CompanyCacheNames.COMPANY_WITH_PRODUCTS, event.companyId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        evict(CompanyCacheNames.COMPANY_WITH_CATEGORIES, event.companyId());
+    }
+
+    // Company reviews move the company's averageRating, which every company view shows;
+    // product ratings are not part of any cached company view
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        if (event.companyId() == null) {
+            return;
+        }
+        evict(CompanyCacheNames.COMPANY_BY_ID, event.companyId());
+        evict(CompanyCacheNames.COMPANY_WITH_PRODUCTS, event.companyId());
+        evict(CompanyCacheNames.COMPANY_WITH_CATEGORIES, event.companyId());
+        clear(CompanyCacheNames.ACTIVE_COMPANIES);
+    }
+
+    private void evict(String cacheName, Integer companyId) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && companyId != null) {
+            cache.evict(companyId);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.backend.jibli.company;
+
+/**
+ * Caches in front of CompanyService reads. Entries are evicted by
+ * {@link CompanyCacheInvalidator}; the TTL in spring.cache.caffeine.spec is only a backstop.
+ */
+public final class CompanyCacheNames {
+    public static final String ACTIVE_COMPANIES = "activeCompanies";
+    public static final String COMPANY_BY_ID = "companyById";
+    public static final String COMPANY_WITH_PRODUCTS = "companyWithProducts";
+    public static final String COMPANY_WITH_CATEGORIES = "companyWithCategories";
+
+    private CompanyCacheNames() {
+    }
+}
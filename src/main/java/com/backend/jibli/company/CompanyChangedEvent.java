@@ -0,0 +1,7 @@
+package com.backend.jibli.company;
+
+/**
+ * Published after a company is created, updated or deleted.
+ */
+public record CompanyChangedEvent(Integer companyId, boolean deleted) {
+}
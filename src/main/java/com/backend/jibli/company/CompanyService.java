@@ -3,7 +3,10 @@ package com.backend.jibli.company;
 import com.backend.jibli.attachment.Attachment;
 import com.backend.jibli.category.Category;
 import com.backend.jibli.category.CategoryDTO;
+import com.backend.jibli.notification.NotificationEvent;
 import com.backend.jibli.notification.NotificationService;
+import com.backend.jibli.notification.NotificationTemplateRegistry;
+import com.backend.jibli.notification.RenderedNotification;
 import com.backend.jibli.product.Product;
 import com.backend.jibli.product.ProductDTO;
 import com.backend.jibli.review.Review;
@@ -12,6 +15,8 @@ import com.backend.jibli.user.IUserRepository;
 import com.backend.jibli.user.User;
 import com.backend.jibli.user.UserRole;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
@@ -30,6 +35,12 @@ public class CompanyService implements ICompanyService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private NotificationTemplateRegistry templates;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     public CompanyService(ICompanyRepository companyRepository, IUserRepository userRepository) {
         this.companyRepository = companyRepository;
@@ -46,6 +57,7 @@ public class CompanyService implements ICompanyService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = CompanyCacheNames.COMPANY_BY_ID, key = "#id", unless = "#result == null")
     public Optional<CompanyDTO> getCompanyById(Integer id) {
         return companyRepository.findById(id)
                 .map(this::mapToDTO);
@@ -80,6 +92,7 @@ public class CompanyService implements ICompanyService {
         company.setCompanyStatus(CompanyStatus.INACTIVE);
         Company saved = companyRepository.save(company);
         log.info("📦 New company created: {}", saved.getCompanyName());
+        eventPublisher.publishEvent(new CompanyChangedEvent(saved.getCompanyId(), false));
 
         // Send notification to admin
         _notifyAdminNewCompany(saved);
@@ -121,6 +134,7 @@ public class CompanyService implements ICompanyService {
                     }
 
                     Company updated = companyRepository.save(company);
+                    eventPublisher.publishEvent(new CompanyChangedEvent(updated.getCompanyId(), false));
 
                     // Send notification on status change
                     if (newStatus != null && !newStatus.equals(oldStatus)) {
@@ -144,6 +158,7 @@ public class CompanyService implements ICompanyService {
     public boolean deleteCompany(Integer id) {
         if (companyRepository.existsById(id)) {
             companyRepository.deleteById(id);
+            eventPublisher.publishEvent(new CompanyChangedEvent(id, true));
             return true;
         }
         return false;
@@ -159,6 +174,7 @@ public class CompanyService implements ICompanyService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = CompanyCacheNames.COMPANY_WITH_PRODUCTS, key = "#companyId")
     public CompanyDTO findByCompanyIdWithProducts(Integer companyId) {
         Company company = companyRepository.findByCompanyIdWithProducts(companyId);
 
@@ -183,6 +199,7 @@ public class CompanyService implements ICompanyService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = CompanyCacheNames.COMPANY_WITH_CATEGORIES, key = "#companyId")
     public CompanyDTO findByCompanyIdWithCategories(Integer companyId) {
         Company company = companyRepository.findByCompanyIdWithCategories(companyId);
 
@@ -194,6 +211,8 @@ public class CompanyService implements ICompanyService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(CompanyCacheNames.ACTIVE_COMPANIES)
     public List<CompanyDTO> findAllActiveCompanies() {
         return companyRepository.findAllActiveCompanies().stream()
                 .map(this::mapToDTO)
@@ -207,20 +226,16 @@ public class CompanyService implements ICompanyService {
         try {
             List<User> admins = userRepository.findAllByUserRole(UserRole.ADMIN);
 
+            Map<String, Object> params = new HashMap<>();
+            params.put("companyId", company.getCompanyId());
+            params.put("companyName", company.getCompanyName());
+            params.put("ownerName", company.getUser().getFullName());
+            params.put("companyAddress", company.getCompanyAddress());
+            RenderedNotification notification = templates.render(NotificationEvent.ADMIN_COMPANY_CREATED, params);
+
             for (User admin : admins) {
                 Long adminId = admin.getUserId().longValue();
-                Map<String, String> data = new HashMap<>();
-                data.put("route", "/admin/companies");
-                data.put("companyId", company.getCompanyId().toString());
-                data.put("type", "NEW_COMPANY");
-
-                String title = "🆕 Nouvelle Entreprise";
-                String body = String.format("Entreprise: %s\nPropriétaire: %s\nAdresse: %s",
-                        company.getCompanyName(),
-                        company.getUser().getFullName(),
-                        company.getCompanyAddress());
-
-                notificationService.sendNotificationToUser(adminId, title, body, data);
+                notificationService.sendNotificationToUser(adminId, notification.title(), notification.body(), notification.data());
                 log.info("✅ Admin notified about new company");
             }
         } catch (Exception e) {
@@ -235,30 +250,19 @@ public class CompanyService implements ICompanyService {
         try {
             if (company.getUser() == null) return;
 
+            NotificationEvent event = switch (newStatus) {
+                case ACTIVE -> NotificationEvent.OWNER_COMPANY_ACTIVATED;
+                case INACTIVE -> NotificationEvent.OWNER_COMPANY_DEACTIVATED;
+                case BANNED -> NotificationEvent.OWNER_COMPANY_BANNED;
+            };
+
             Long ownerId = company.getUser().getUserId().longValue();
-            Map<String, String> data = new HashMap<>();
-            data.put("route", "/dashboard");
-            data.put("companyId", company.getCompanyId().toString());
-            data.put("type", "COMPANY_STATUS_CHANGED");
-
-            String title = "";
-            String body = "";
-
-            if (newStatus == CompanyStatus.ACTIVE) {
-                title = "✅ Entreprise Approuvée";
-                body = String.format("Votre entreprise '%s' a été approuvée!\nVous pouvez maintenant recevoir des commandes.",
-                        company.getCompanyName());
-            } else if (newStatus == CompanyStatus.INACTIVE) {
-                title = "⏸️ Entreprise Désactivée";
-                body = String.format("Votre entreprise '%s' a été désactivée temporairement.",
-                        company.getCompanyName());
-            } else if (newStatus == CompanyStatus.BANNED) {
-                title = "🚫 Entreprise Bloquée";
-                body = String.format("Votre entreprise '%s' a été bloquée. Contactez l'admin.",
-                        company.getCompanyName());
-            }
+            Map<String, Object> params = new HashMap<>();
+            params.put("companyId", company.getCompanyId());
+            params.put("companyName", company.getCompanyName());
+            RenderedNotification notification = templates.render(event, params);
 
-            notificationService.sendNotificationToUser(ownerId, title, body, data);
+            notificationService.sendNotificationToUser(ownerId, notification.title(), notification.body(), notification.data());
             log.info("✅ Owner notified about status change: {}", newStatus);
         } catch (Exception e) {
             log.error("❌ Error notifying owner: {}", e.getMessage());
@@ -268,14 +272,8 @@ public class CompanyService implements ICompanyService {
     private CompanyDTO mapToDTO(Company company) {
         if (company == null) return null;
 
-        // Calculate average rating
-        Double averageRating = company.getReviews() != null && !company.getReviews().isEmpty()
-                ? company.getReviews().stream()
-                .filter(r -> r.getRating() != null && r.getRating() > 0)
-                .mapToDouble(Review::getRating)
-                .average()
-                .orElse(0.0)
-                : 0.0;
+        // Maintained by ReviewService, see ICompanyRepository.applyRatingDelta
+        Double averageRating = company.getAverageRating() != null ? company.getAverageRating() : 0.0;
 
         CompanyDTO dto = new CompanyDTO();
         dto.setCompanyId(company.getCompanyId());
@@ -303,14 +301,8 @@ public class CompanyService implements ICompanyService {
     private CompanyDTO mapToDTOWithProducts(Company company) {
         if (company == null) return null;
 
-        // Calculate average rating
-        Double averageRating = company.getReviews() != null && !company.getReviews().isEmpty()
-                ? company.getReviews().stream()
-                .filter(r -> r.getRating() != null && r.getRating() > 0)
-                .mapToDouble(Review::getRating)
-                .average()
-                .orElse(0.0)
-                : 0.0;
+        // Maintained by ReviewService, see ICompanyRepository.applyRatingDelta
+        Double averageRating = company.getAverageRating() != null ? company.getAverageRating() : 0.0;
 
         // Convert products to DTOs
         List<ProductDTO> productDTOs = company.getProducts() != null
@@ -343,14 +335,8 @@ public class CompanyService implements ICompanyService {
     private CompanyDTO mapToDTOWithReviews(Company company) {
         if (company == null) return null;
 
-        // Calculate average rating
-        Double averageRating = company.getReviews() != null && !company.getReviews().isEmpty()
-                ? company.getReviews().stream()
-                .filter(r -> r.getRating() != null && r.getRating() > 0)
-                .mapToDouble(Review::getRating)
-                .average()
-                .orElse(0.0)
-                : 0.0;
+        // Maintained by ReviewService, see ICompanyRepository.applyRatingDelta
+        Double averageRating = company.getAverageRating() != null ? company.getAverageRating() : 0.0;
 
         // Convert reviews to DTOs
         List<ReviewDTO> reviewDTOs = company.getReviews() != null
@@ -383,14 +369,8 @@ public class CompanyService implements ICompanyService {
     private CompanyDTO mapToDTOWithCategories(Company company) {
         if (company == null) return null;
 
-        // Calculate average rating
-        Double averageRating = company.getReviews() != null && !company.getReviews().isEmpty()
-                ? company.getReviews().stream()
-                .filter(r -> r.getRating() != null && r.getRating() > 0)
-                .mapToDouble(Review::getRating)
-                .average()
-                .orElse(0.0)
-                : 0.0;
+        // Maintained by ReviewService, see ICompanyRepository.applyRatingDelta
+        Double averageRating = company.getAverageRating() != null ? company.getAverageRating() : 0.0;
 
         // Convert categories to DTOs
         List<CategoryDTO> categoryDTOs = company.getCategories() != null
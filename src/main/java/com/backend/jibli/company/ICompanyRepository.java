@@ -1,6 +1,7 @@
 package com.backend.jibli.company;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -32,4 +33,23 @@ public interface ICompanyRepository extends JpaRepository<Company,Integer> {
     @Query("SELECT c FROM Company c WHERE c.companyStatus = com.backend.jibli.company.CompanyStatus.ACTIVE")
     List<Company> findAllActiveCompanies();
 
+    // averageRating is assigned first so it reads the pre-update totals on every database
+    @Modifying
+    @Query("UPDATE Company c SET " +
+            "c.averageRating = CASE WHEN c.ratingCount + :countDelta > 0 " +
+            "THEN (c.ratingSum + :sumDelta) * 1.0 / (c.ratingCount + :countDelta) ELSE 0.0 END, " +
+            "c.ratingSum = c.ratingSum + :sumDelta, " +
+            "c.ratingCount = c.ratingCount + :countDelta " +
+            "WHERE c.companyId = :companyId")
+    int applyRatingDelta(@Param("companyId") Integer companyId,
+                         @Param("sumDelta") long sumDelta,
+                         @Param("countDelta") long countDelta);
+
+    @Modifying
+    @Query("UPDATE Company c SET " +
+            "c.averageRating = COALESCE((SELECT AVG(r.rating) FROM Review r WHERE r.company = c AND r.rating > 0), 0.0), " +
+            "c.ratingSum = COALESCE((SELECT SUM(r.rating) FROM Review r WHERE r.company = c AND r.rating > 0), 0), " +
+            "c.ratingCount = (SELECT COUNT(r) FROM Review r WHERE r.company = c AND r.rating > 0)")
+    int recomputeRatings();
+
 }
@@ -0,0 +1,113 @@
+package com.backend.jibli.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+@Slf4j
+public class AsyncConfig {
+
+    /**
+     * Image derivative rendering. Kept small and bounded: decoding is CPU and memory heavy,
+     * and a dropped task only means clients get the original until the next upload.
+     */
+    @Bean(name = "attachmentVariantExecutor")
+    public ThreadPoolTaskExecutor attachmentVariantExecutor(
+            @Value("${attachment.variants.threads:2}") int threads,
+            @Value("${attachment.variants.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("attachment-variant-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("⚠️ Variant queue full, skipping derivative rendering"));
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs whole broadcasts; each one mostly waits on its chunk sends. A full queue rejects
+     * the broadcast back to the caller; its row stays QUEUED and is picked up again by
+     * BroadcastScheduler's stale sweep.
+     */
+    @Bean(name = "broadcastExecutor")
+    public ThreadPoolTaskExecutor broadcastExecutor(
+            @Value("${notifications.broadcast.max-concurrent:2}") int maxConcurrent,
+            @Value("${notifications.broadcast.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("broadcast-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            log.warn("⚠️ Broadcast queue full, broadcast left queued for retry");
+            throw new RejectedExecutionException("Broadcast queue full");
+        });
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Multicast chunks of running broadcasts. The pool size caps concurrent requests to FCM;
+     * when the short queue is full the broadcast thread sends the chunk itself, which
+     * throttles it instead of buffering a whole audience in memory.
+     */
+    @Bean(name = "broadcastSendExecutor")
+    public ThreadPoolTaskExecutor broadcastSendExecutor(
+            @Value("${notifications.broadcast.fcm-concurrency:4}") int fcmConcurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(fcmConcurrency);
+        executor.setMaxPoolSize(fcmConcurrency);
+        executor.setQueueCapacity(fcmConcurrency * 2);
+        executor.setThreadNamePrefix("broadcast-send-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Writes order deltas and heartbeats to SSE subscribers. Writes to a slow client block,
+     * so they happen here rather than on the request thread that changed the order; when
+     * the queue is full the delta is dropped and clients catch up on their next fetch.
+     */
+    @Bean(name = "orderStreamExecutor")
+    public ThreadPoolTaskExecutor orderStreamExecutor(
+            @Value("${orders.stream.threads:4}") int threads,
+            @Value("${orders.stream.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("order-stream-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("⚠️ Order stream queue full, dropping an update"));
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Offer timeouts of DeliveryDispatcher, kept off the shared scheduler so they never wait
+     * behind outbox drains or nightly jobs. Not a default candidate: the auto-configured
+     * scheduler stays in place for {@code @Scheduled} methods.
+     */
+    @Bean(name = "deliveryDispatchScheduler", defaultCandidate = false)
+    public ThreadPoolTaskScheduler deliveryDispatchScheduler(
+            @Value("${delivery.dispatch.threads:2}") int threads) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(threads);
+        scheduler.setThreadNamePrefix("delivery-dispatch-");
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.initialize();
+        return scheduler;
+    }
+}
@@ -0,0 +1,13 @@
+package com.backend.jibli.configuration;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The cache backend comes from spring.cache.type (Caffeine by default). Switching to a
+ * shared store such as Redis only needs its starter and spring.cache.type=redis.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
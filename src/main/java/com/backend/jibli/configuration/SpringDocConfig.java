@@ -124,4 +124,12 @@ public class SpringDocConfig {
                 .pathsToMatch("/order-items/**")
                 .build();
     }
+
+    @Bean
+    public GroupedOpenApi searchPublicApi() {
+        return GroupedOpenApi.builder()
+                .group("Only Search API")
+                .pathsToMatch("/search/**")
+                .build();
+    }
 }
\ No newline at end of file
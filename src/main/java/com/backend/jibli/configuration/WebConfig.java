@@ -23,8 +23,9 @@ public class WebConfig implements WebMvcConfigurer {
     @Bean
     public WebServerFactoryCustomizer<TomcatServletWebServerFactory> tomcatCustomizer() {
         return factory -> factory.addConnectorCustomizers(connector -> {
-            connector.setMaxPostSize(200 * 1024 * 1024); // 200MB
-            connector.setMaxSavePostSize(200 * 1024 * 1024);
+            // Only form-encoded bodies are parsed into memory; files go through multipart or /attachments/stream
+            connector.setMaxPostSize(2 * 1024 * 1024); // 2MB
+            connector.setMaxSavePostSize(4 * 1024);
         });
     }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.backend.jibli.firebase;
+
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.SendResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a multicast send: totals plus one entry per token FCM refused.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchSendResult {
+
+    private int successCount;
+    private int failureCount;
+    private List<TokenFailure> failures = new ArrayList<>();
+    // Tokens that will never be deliverable again and should be forgotten
+    private List<String> deadTokens = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TokenFailure {
+        private String token;
+        private MessagingErrorCode errorCode;
+        private String message;
+    }
+
+    /**
+     * Records the response for one chunk; FCM returns responses in token order.
+     */
+    void add(List<String> tokens, BatchResponse response) {
+        List<SendResponse> responses = response.getResponses();
+        for (int i = 0; i < responses.size(); i++) {
+            SendResponse sendResponse = responses.get(i);
+            if (sendResponse.isSuccessful()) {
+                successCount++;
+                continue;
+            }
+            FirebaseMessagingException e = sendResponse.getException();
+            addFailure(tokens.get(i), e);
+            // INVALID_ARGUMENT can also mean a bad payload; it only blames the token when
+            // the same message went through to other tokens of the chunk
+            MessagingErrorCode code = e != null ? e.getMessagingErrorCode() : null;
+            if (code == MessagingErrorCode.UNREGISTERED
+                    || (code == MessagingErrorCode.INVALID_ARGUMENT && response.getSuccessCount() > 0)) {
+                deadTokens.add(tokens.get(i));
+            }
+        }
+    }
+
+    // The whole chunk was rejected before any token was tried
+    void addFailure(List<String> tokens, FirebaseMessagingException e) {
+        for (String token : tokens) {
+            addFailure(token, e);
+        }
+    }
+
+    private void addFailure(String token, FirebaseMessagingException e) {
+        failureCount++;
+        failures.add(new TokenFailure(
+                token,
+                e != null ? e.getMessagingErrorCode() : null,
+                e != null ? e.getMessage() : null
+        ));
+    }
+}
@@ -0,0 +1,14 @@
+package com.backend.jibli.firebase;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceTokenDTO {
+    private Long tokenId;
+    private Integer userId;
+    private String fcmToken;
+}
@@ -8,7 +8,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "fcm_tokens")
+@Table(name = "user_fcm_tokens", indexes = {
+        @Index(name = "idx_fcm_token_user", columnList = "user_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_fcm_token", columnNames = "fcm_token")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +23,8 @@ public class FcmToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "user_id", nullable = false, unique = true)
+    // A user has one row per device
+    @Column(name = "user_id", nullable = false)
     private Integer userId;
 
     @Column(name = "fcm_token", nullable = false, length = 500)
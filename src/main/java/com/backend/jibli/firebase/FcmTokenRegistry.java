@@ -0,0 +1,157 @@
+package com.backend.jibli.firebase;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The device tokens of every user, one {@link FcmToken} row per device. Lookups go
+ * through a bounded userId -> tokens cache filled on first use. Registrations and
+ * removals on this node write through to cached entries; the TTL bounds how long a
+ * change made on another node can go unseen.
+ */
+@Service
+@Slf4j
+public class FcmTokenRegistry {
+
+    private final FcmTokenRepository tokenRepository;
+    private final Cache<Integer, Set<String>> tokensByUser;
+
+    public FcmTokenRegistry(FcmTokenRepository tokenRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${notifications.tokens.cache.max-size:50000}") long maxSize,
+                            @Value("${notifications.tokens.cache.ttl-minutes:30}") long ttlMinutes) {
+        this.tokenRepository = tokenRepository;
+        this.tokensByUser = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        // Exposes cache.gets{result=hit|miss}, cache.size and cache.evictions tagged cache=fcmTokens
+        CaffeineCacheMetrics.monitor(meterRegistry, tokensByUser, "fcmTokens");
+    }
+
+    /**
+     * Adds a device for the user. A token already known for another user moves to this
+     * one: the device was signed into a different account.
+     */
+    public void register(Integer userId, String fcmToken) {
+        Integer previousUserId;
+        try {
+            previousUserId = assign(userId, fcmToken);
+        } catch (DataIntegrityViolationException e) {
+            // Another request inserted the same token between our read and insert; the row exists now
+            previousUserId = assign(userId, fcmToken);
+        }
+
+        if (previousUserId != null && !previousUserId.equals(userId)) {
+            removeCached(previousUserId, fcmToken);
+            log.info("🔁 FCM token moved from user {} to user {}", previousUserId, userId);
+        }
+        // Only users already cached are updated; anyone else is loaded on first lookup
+        tokensByUser.asMap().computeIfPresent(userId, (id, tokens) -> {
+            Set<String> updated = new LinkedHashSet<>(tokens);
+            updated.add(fcmToken);
+            return Set.copyOf(updated);
+        });
+    }
+
+    public boolean unregister(Integer userId, String fcmToken) {
+        return tokenRepository.findByFcmToken(fcmToken)
+                .filter(token -> token.getUserId().equals(userId))
+                .map(token -> {
+                    tokenRepository.delete(token);
+                    removeCached(userId, fcmToken);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    public List<String> tokensFor(Integer userId) {
+        return new ArrayList<>(tokensByUser.get(userId, this::load));
+    }
+
+    /**
+     * Tokens of several users, loading every user missing from the map in one query.
+     */
+    public Map<Integer, List<String>> tokensFor(Collection<Integer> userIds) {
+        Map<Integer, List<String>> result = new HashMap<>();
+        Set<Integer> missing = new HashSet<>();
+        for (Integer userId : userIds) {
+            Set<String> cached = tokensByUser.getIfPresent(userId);
+            if (cached != null) {
+                result.put(userId, new ArrayList<>(cached));
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Integer, Set<String>> loaded = tokenRepository.findByUserIdIn(missing).stream()
+                    .collect(Collectors.groupingBy(FcmToken::getUserId,
+                            Collectors.mapping(FcmToken::getFcmToken, Collectors.toCollection(LinkedHashSet::new))));
+            for (Integer userId : missing) {
+                Set<String> tokens = Set.copyOf(loaded.getOrDefault(userId, Set.of()));
+                tokensByUser.asMap().putIfAbsent(userId, tokens);
+                result.put(userId, new ArrayList<>(tokens));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Deletes tokens FCM reported as no longer deliverable.
+     */
+    public void removeDead(Collection<String> fcmTokens) {
+        if (fcmTokens.isEmpty()) {
+            return;
+        }
+        List<FcmToken> dead = tokenRepository.findByFcmTokenIn(fcmTokens);
+        if (dead.isEmpty()) {
+            return;
+        }
+        tokenRepository.deleteAllInBatch(dead);
+        dead.forEach(token -> removeCached(token.getUserId(), token.getFcmToken()));
+        log.info("🧹 Pruned {} dead FCM tokens", dead.size());
+    }
+
+    // Points the token's row at the user, inserting it when unknown; returns the previous owner
+    private Integer assign(Integer userId, String fcmToken) {
+        FcmToken token = tokenRepository.findByFcmToken(fcmToken)
+                .orElseGet(() -> FcmToken.builder().fcmToken(fcmToken).build());
+        Integer previousUserId = token.getUserId();
+        token.setUserId(userId);
+        tokenRepository.save(token);
+        return previousUserId;
+    }
+
+    private void removeCached(Integer userId, String fcmToken) {
+        tokensByUser.asMap().computeIfPresent(userId, (id, tokens) -> {
+            Set<String> updated = new LinkedHashSet<>(tokens);
+            updated.remove(fcmToken);
+            return Set.copyOf(updated);
+        });
+    }
+
+    private Set<String> load(Integer userId) {
+        return tokenRepository.findByUserId(userId).stream()
+                .map(FcmToken::getFcmToken)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
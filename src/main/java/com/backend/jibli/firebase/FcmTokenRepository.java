@@ -1,11 +1,34 @@
 package com.backend.jibli.firebase;
 
+import com.backend.jibli.user.UserRole;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FcmTokenRepository extends JpaRepository<FcmToken, Long> {
-    Optional<FcmToken> findByUserId(Integer userId);
+    List<FcmToken> findByUserId(Integer userId);
+    List<FcmToken> findByUserIdIn(Collection<Integer> userIds);
+    Optional<FcmToken> findByFcmToken(String fcmToken);
+    List<FcmToken> findByFcmTokenIn(Collection<String> fcmTokens);
     void deleteByUserId(Integer userId);
-}
\ No newline at end of file
+
+    /**
+     * One keyset page of device tokens, optionally restricted to users of a role (null
+     * matches every user). Pass the last token id of the previous page as afterId.
+     */
+    @Query("SELECT new com.backend.jibli.firebase.DeviceTokenDTO(t.id, t.userId, t.fcmToken) " +
+            "FROM FcmToken t, User u WHERE u.userId = t.userId AND t.id > :afterId " +
+            "AND (:role IS NULL OR u.userRole = :role) ORDER BY t.id")
+    List<DeviceTokenDTO> findAudienceAfter(@Param("role") UserRole role, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT COUNT(t) FROM FcmToken t, User u WHERE u.userId = t.userId " +
+            "AND (:role IS NULL OR u.userRole = :role)")
+    long countAudience(@Param("role") UserRole role);
+}
@@ -1,16 +1,29 @@
 package com.backend.jibli.firebase;
 
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
 import com.google.firebase.messaging.Notification;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class FirebaseMessagingService {
 
+    // FCM limit for a single multicast request
+    public static final int MAX_TOKENS_PER_BATCH = 500;
+
+    @Autowired
+    private FcmTokenRegistry fcmTokenRegistry;
+
     /**
      * Send notification to single device
      */
@@ -35,6 +48,12 @@ public class FirebaseMessagingService {
 
             log.info("✅ Notification sent successfully: {}", response);
             return response;
+        } catch (FirebaseMessagingException e) {
+            if (e.getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED) {
+                fcmTokenRegistry.removeDead(List.of(fcmToken));
+            }
+            log.error("❌ Error sending notification: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to send notification", e);
         } catch (Exception e) {
             log.error("❌ Error sending notification: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to send notification", e);
@@ -44,16 +63,50 @@ public class FirebaseMessagingService {
     /**
      * Send notification to multiple devices
      */
-    public void sendNotificationToMultipleDevices(java.util.List<String> fcmTokens,
-                                                  String title, String body,
-                                                  Map<String, String> data) {
-        for (String token : fcmTokens) {
+    public BatchSendResult sendNotificationToMultipleDevices(java.util.List<String> fcmTokens,
+                                                             String title, String body,
+                                                             Map<String, String> data) {
+        return sendMulticast(fcmTokens, title, body, data);
+    }
+
+    /**
+     * Send one notification to many devices, {@value #MAX_TOKENS_PER_BATCH} tokens per FCM call.
+     * Never throws: failures are reported per token in the result, and tokens FCM no
+     * longer knows are removed from the registry.
+     */
+    public BatchSendResult sendMulticast(List<String> fcmTokens, String title, String body,
+                                         Map<String, String> data) {
+        BatchSendResult result = new BatchSendResult();
+        List<String> tokens = fcmTokens.stream()
+                .filter(token -> token != null && !token.isBlank())
+                .distinct()
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < tokens.size(); i += MAX_TOKENS_PER_BATCH) {
+            List<String> chunk = tokens.subList(i, Math.min(i + MAX_TOKENS_PER_BATCH, tokens.size()));
+            MulticastMessage.Builder messageBuilder = MulticastMessage.builder()
+                    .addAllTokens(chunk)
+                    .setNotification(Notification.builder()
+                            .setTitle(title)
+                            .setBody(body)
+                            .build());
+            if (data != null && !data.isEmpty()) {
+                messageBuilder.putAllData(data);
+            }
+
             try {
-                sendNotification(token, title, body, data);
-            } catch (Exception e) {
-                log.error("Failed to send notification to token: {}", token);
+                BatchResponse response = FirebaseMessaging.getInstance().sendEachForMulticast(messageBuilder.build());
+                result.add(chunk, response);
+            } catch (FirebaseMessagingException e) {
+                log.error("❌ Multicast chunk of {} tokens failed: {}", chunk.size(), e.getMessage());
+                result.addFailure(chunk, e);
             }
         }
+
+        log.info("📊 Multicast sent to {} tokens - Success: {}, Failed: {}",
+                tokens.size(), result.getSuccessCount(), result.getFailureCount());
+        fcmTokenRegistry.removeDead(result.getDeadTokens());
+        return result;
     }
 
     /**
@@ -0,0 +1,74 @@
+package com.backend.jibli.firebase;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves device tokens from the two old single-token stores, {@code users.fcm_token} and
+ * the {@code fcm_tokens} table, into {@code user_fcm_tokens}. Copied tokens are cleared
+ * at the source in the same transaction, so a token pruned later is never copied back
+ * and the job is a no-op once both sources are empty.
+ */
+@Component
+@ConditionalOnProperty(name = "notifications.tokens.migrate-legacy", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class LegacyFcmTokenMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public LegacyFcmTokenMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        try {
+            if (columnExists("users", "fcm_token")) {
+                Integer copied = transactionTemplate.execute(status -> {
+                    int inserted = jdbcTemplate.update(
+                            "INSERT IGNORE INTO user_fcm_tokens (user_id, fcm_token, created_at, updated_at) " +
+                                    "SELECT user_id, fcm_token, NOW(), NOW() FROM users " +
+                                    "WHERE fcm_token IS NOT NULL AND fcm_token <> ''");
+                    jdbcTemplate.update("UPDATE users SET fcm_token = NULL WHERE fcm_token IS NOT NULL");
+                    return inserted;
+                });
+                logCopied("users.fcm_token", copied);
+            }
+
+            if (columnExists("fcm_tokens", "fcm_token")) {
+                Integer copied = transactionTemplate.execute(status -> {
+                    int inserted = jdbcTemplate.update(
+                            "INSERT IGNORE INTO user_fcm_tokens (user_id, fcm_token, created_at, updated_at) " +
+                                    "SELECT user_id, fcm_token, created_at, COALESCE(updated_at, created_at) FROM fcm_tokens");
+                    jdbcTemplate.update("DELETE FROM fcm_tokens");
+                    return inserted;
+                });
+                logCopied("fcm_tokens", copied);
+            }
+        } catch (Exception e) {
+            log.error("❌ Legacy FCM token migration aborted: {}", e.getMessage(), e);
+        }
+    }
+
+    private void logCopied(String source, Integer copied) {
+        if (copied != null && copied > 0) {
+            log.info("✅ Migrated {} FCM tokens from {}", copied, source);
+        }
+    }
+
+    private boolean columnExists(String table, String column) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?",
+                Integer.class, table, column);
+        return count != null && count > 0;
+    }
+}
@@ -6,8 +6,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 @Service
 @Slf4j
@@ -17,16 +17,16 @@ public class OrderNotificationService {
     private FirebaseMessagingService firebaseMessagingService;
 
     @Autowired
-    private FcmTokenRepository fcmTokenRepository;
+    private FcmTokenRegistry fcmTokenRegistry;
 
     /**
      * Send notification when order is created
      */
     public void notifyOrderCreated(Order order, Integer sellerId) {
         try {
-            Optional<FcmToken> fcmTokenOpt = fcmTokenRepository.findByUserId(sellerId);
+            List<String> fcmTokens = fcmTokenRegistry.tokensFor(sellerId);
 
-            if (fcmTokenOpt.isPresent()) {
+            if (!fcmTokens.isEmpty()) {
                 Map<String, String> data = new HashMap<>();
                 data.put("orderId", order.getOrderId().toString());
                 data.put("orderStatus", String.valueOf(order.getOrderStatus()));
@@ -35,8 +35,8 @@ public class OrderNotificationService {
                 String title = "Nouvelle Commande";
                 String body = "Commande #" + order.getOrderId() + " reçue";
 
-                firebaseMessagingService.sendNotification(
-                        fcmTokenOpt.get().getFcmToken(),
+                firebaseMessagingService.sendMulticast(
+                        fcmTokens,
                         title,
                         body,
                         data
@@ -56,9 +56,9 @@ public class OrderNotificationService {
      */
     public void notifyOrderStatusChanged(Order order, Integer sellerId, String newStatus) {
         try {
-            Optional<FcmToken> fcmTokenOpt = fcmTokenRepository.findByUserId(sellerId);
+            List<String> fcmTokens = fcmTokenRegistry.tokensFor(sellerId);
 
-            if (fcmTokenOpt.isPresent()) {
+            if (!fcmTokens.isEmpty()) {
                 Map<String, String> data = new HashMap<>();
                 data.put("orderId", order.getOrderId().toString());
                 data.put("orderStatus", newStatus);
@@ -67,8 +67,8 @@ public class OrderNotificationService {
                 String title = "Mise à Jour de Commande";
                 String body = getStatusMessage(newStatus);
 
-                firebaseMessagingService.sendNotification(
-                        fcmTokenOpt.get().getFcmToken(),
+                firebaseMessagingService.sendMulticast(
+                        fcmTokens,
                         title,
                         body,
                         data
@@ -88,15 +88,15 @@ public class OrderNotificationService {
      */
     public void notifyOrderReady(Order order, Integer customerId) {
         try {
-            Optional<FcmToken> fcmTokenOpt = fcmTokenRepository.findByUserId(customerId);
+            List<String> fcmTokens = fcmTokenRegistry.tokensFor(customerId);
 
-            if (fcmTokenOpt.isPresent()) {
+            if (!fcmTokens.isEmpty()) {
                 Map<String, String> data = new HashMap<>();
                 data.put("orderId", order.getOrderId().toString());
                 data.put("type", "order_ready");
 
-                firebaseMessagingService.sendNotification(
-                        fcmTokenOpt.get().getFcmToken(),
+                firebaseMessagingService.sendMulticast(
+                        fcmTokens,
                         "Commande Prête",
                         "Votre commande #" + order.getOrderId() + " est prête",
                         data
@@ -0,0 +1,44 @@
+package com.backend.jibli.notification;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface INotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // Lock timeout -2 renders FOR UPDATE SKIP LOCKED: concurrent dispatchers each claim a disjoint batch
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM NotificationOutbox o " +
+            "WHERE o.status = com.backend.jibli.notification.NotificationOutboxStatus.PENDING " +
+            "AND o.nextAttemptAt <= :now ORDER BY o.nextAttemptAt")
+    List<NotificationOutbox> claimDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Skips an entry a dispatcher is sending right now rather than blocking the caller's transaction
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM NotificationOutbox o " +
+            "WHERE o.recipientUserId = :recipientUserId AND o.coalesceKey = :coalesceKey " +
+            "AND o.status = com.backend.jibli.notification.NotificationOutboxStatus.PENDING ORDER BY o.outboxId DESC")
+    List<NotificationOutbox> findPendingToCoalesce(@Param("recipientUserId") Long recipientUserId,
+                                                   @Param("coalesceKey") String coalesceKey,
+                                                   Pageable pageable);
+
+    boolean existsByRecipientUserIdAndCoalesceKeyAndSentAtAfter(Long recipientUserId, String coalesceKey, LocalDateTime after);
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox o WHERE o.status <> com.backend.jibli.notification.NotificationOutboxStatus.PENDING " +
+            "AND o.createdAt < :before")
+    int deleteFinishedBefore(@Param("before") LocalDateTime before);
+
+    long countByStatus(NotificationOutboxStatus status);
+}
@@ -0,0 +1,50 @@
+package com.backend.jibli.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A text with {@code {name}} placeholders, split once into literal and placeholder
+ * parts so rendering is a single pass over the parts.
+ */
+final class MessageTemplate {
+
+    private final String[] literals;
+    private final String[] placeholders;
+
+    private MessageTemplate(String[] literals, String[] placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    static MessageTemplate compile(String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int start = 0;
+        int open;
+        while ((open = text.indexOf('{', start)) >= 0) {
+            int close = text.indexOf('}', open);
+            if (close < 0) {
+                break;
+            }
+            literals.add(text.substring(start, open));
+            placeholders.add(text.substring(open + 1, close));
+            start = close + 1;
+        }
+        literals.add(text.substring(start));
+        return new MessageTemplate(literals.toArray(String[]::new), placeholders.toArray(String[]::new));
+    }
+
+    String render(Map<String, ?> params) {
+        StringBuilder out = new StringBuilder(64);
+        for (int i = 0; i < placeholders.length; i++) {
+            out.append(literals[i]);
+            Object value = params.get(placeholders[i]);
+            if (value != null) {
+                out.append(value);
+            }
+        }
+        return out.append(literals[placeholders.length]).toString();
+    }
+}
@@ -37,6 +37,22 @@ public class NotificationController {
         }
     }
 
+    @DeleteMapping("/users/fcm-token")
+    public ResponseEntity<Map<String, Object>> removeFCMToken(@RequestBody FCMTokenRequest request) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            boolean removed = notificationService.removeFCMToken(request.getUserId(), request.getFcmToken());
+            response.put("success", removed);
+            response.put("message", removed ? "FCM token removed successfully" : "FCM token not found");
+            return removed ? ResponseEntity.ok(response) : ResponseEntity.status(404).body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error removing FCM token: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
     @PostMapping("/notifications/send")
     public ResponseEntity<Map<String, Object>> sendNotification(@RequestBody NotificationRequest request) {
         Map<String, Object> response = new HashMap<>();
@@ -0,0 +1,43 @@
+package com.backend.jibli.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Map;
+
+/**
+ * Stores an FCM data payload as a JSON object column.
+ */
+@Converter
+public class NotificationDataConverter implements AttributeConverter<Map<String, String>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, String>> TYPE = new TypeReference<>() {};
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, String> data) {
+        if (data == null || data.isEmpty()) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize notification data", e);
+        }
+    }
+
+    @Override
+    public Map<String, String> convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return MAPPER.readValue(json, TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot read notification data", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.backend.jibli.notification;
+
+import java.util.function.IntFunction;
+
+/**
+ * How to summarise a burst of notifications of the same kind sent to one recipient.
+ * {@code summary} receives the number of merged notifications and returns the body,
+ * e.g. "5 nouvelles commandes".
+ */
+public record NotificationDigest(String key, String title, IntFunction<String> summary) {
+
+    public String body(int count) {
+        return summary.apply(count);
+    }
+}
@@ -0,0 +1,94 @@
+package com.backend.jibli.notification;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Every kind of push notification the backend sends. Titles and bodies live in
+ * {@code notifications/templates*.properties} under the constant's name; the route, the
+ * type and the parameters copied into the data payload are fixed here.
+ */
+public enum NotificationEvent {
+    // Order lifecycle (OrderService)
+    OWNER_ORDER_CREATED("ORDER", "OWNER_CREATED", "/orders", "ORDER_CREATED", "orderId", "status", "customerName", "totalAmount", "companyName"),
+    OWNER_ORDERS_DIGEST("ORDER", "OWNER_DIGEST", "/orders", "ORDER_CREATED", "orderId", "status", "customerName", "totalAmount", "companyName"),
+    CUSTOMER_ORDER_ACCEPTED("ORDER", "CUSTOMER_ACCEPTED", "/orders", "ORDER_ACCEPTED", "orderId", "status", "companyName"),
+    DRIVER_DELIVERY_ASSIGNED("DELIVERY", "DRIVER_ASSIGNED", "/deliveries", "DELIVERY_ASSIGNED", "orderId", "status", "customerName", "customerAddress", "customerPhone"),
+    DRIVER_DELIVERY_WITHDRAWN("DELIVERY", "DRIVER_WITHDRAWN", "/deliveries", "DELIVERY_WITHDRAWN", "orderId", "status"),
+    OWNER_DELIVERY_PICKED_UP("DELIVERY", "OWNER_PICKED_UP", "/orders", "DELIVERY_PICKED_UP", "orderId", "status", "deliveryName"),
+    OWNER_DELIVERY_REJECTED("DELIVERY", "OWNER_REJECTED", "/orders", "DELIVERY_REJECTED", "orderId", "status", "deliveryName"),
+    OWNER_ORDER_DELIVERED("ORDER", "OWNER_DELIVERED", "/orders", "ORDER_DELIVERED", "orderId", "status", "totalAmount"),
+    CUSTOMER_ORDER_DELIVERED("ORDER", "CUSTOMER_DELIVERED", "/orders", "ORDER_DELIVERED", "orderId", "status", "totalAmount"),
+
+    // Company lifecycle (CompanyService)
+    ADMIN_COMPANY_CREATED("COMPANY", "CREATED", "/admin/companies", "NEW_COMPANY", "companyId"),
+    OWNER_COMPANY_ACTIVATED("COMPANY", "ACTIVATED", "/dashboard", "COMPANY_STATUS_CHANGED", "companyId"),
+    OWNER_COMPANY_DEACTIVATED("COMPANY", "DEACTIVATED", "/dashboard", "COMPANY_STATUS_CHANGED", "companyId"),
+    OWNER_COMPANY_BANNED("COMPANY", "BANNED", "/dashboard", "COMPANY_STATUS_CHANGED", "companyId"),
+
+    // Generic events (DynamicNotificationService)
+    ORDER_CONFIRMED("ORDER", "CREATED", "/orders", "ORDER", "orderId"),
+    ORDER_ACCEPTED("ORDER", "ACCEPTED", "/orders", "ORDER", "orderId"),
+    ORDER_IN_PREPARATION("ORDER", "IN_PREPARATION", "/orders", "ORDER", "orderId"),
+    ORDER_READY("ORDER", "READY", "/orders", "ORDER", "orderId"),
+    ORDER_DELIVERED("ORDER", "DELIVERED", "/orders", "ORDER", "orderId"),
+    ORDER_CANCELLED("ORDER", "CANCELLED", "/orders", "ORDER", "orderId"),
+    REVIEW_RECEIVED("REVIEW", "RECEIVED", "/reviews", "REVIEW", "reviewId"),
+    PRODUCT_BACK_IN_STOCK("PRODUCT", "BACK_IN_STOCK", "/products", "PRODUCT", "productId"),
+    PRODUCT_PRICE_DROP("PRODUCT", "PRICE_DROP", "/products", "PRODUCT", "productId"),
+    PAYMENT_SUCCESS("PAYMENT", "SUCCESS", "/orders", "PAYMENT", "orderId"),
+    PAYMENT_FAILED("PAYMENT", "FAILED", "/payment", "PAYMENT", "orderId"),
+    DELIVERY_ASSIGNED("DELIVERY", "ASSIGNED", "/tracking", "DELIVERY", "orderId"),
+    DELIVERY_NEARBY("DELIVERY", "NEARBY", "/tracking", "DELIVERY", "orderId"),
+    PROMO_NEW_OFFER("PROMO", "NEW_OFFER", "/deals", "PROMO", "promoCode"),
+    PROMO_FLASH_SALE("PROMO", "FLASH_SALE", "/deals", "PROMO");
+
+    private static final Map<String, NotificationEvent> BY_ENTITY_AND_EVENT = new HashMap<>();
+
+    static {
+        for (NotificationEvent value : values()) {
+            BY_ENTITY_AND_EVENT.put(value.entityType + ":" + value.event, value);
+        }
+    }
+
+    private final String entityType;
+    private final String event;
+    private final String route;
+    private final String type;
+    private final Set<String> dataKeys;
+
+    NotificationEvent(String entityType, String event, String route, String type, String... dataKeys) {
+        this.entityType = entityType;
+        this.event = event;
+        this.route = route;
+        this.type = type;
+        this.dataKeys = Set.of(dataKeys);
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Template parameters the app reads from the data payload; the others only feed the text.
+     */
+    public Set<String> getDataKeys() {
+        return dataKeys;
+    }
+
+    /**
+     * Looks up an event by entity and event name, case-insensitively; null when unknown.
+     */
+    public static NotificationEvent of(String entityType, String event) {
+        if (entityType == null || event == null) {
+            return null;
+        }
+        return BY_ENTITY_AND_EVENT.get(entityType.toUpperCase(Locale.ROOT) + ":" + event.toUpperCase(Locale.ROOT));
+    }
+}
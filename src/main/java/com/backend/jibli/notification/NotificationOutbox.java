@@ -0,0 +1,75 @@
+package com.backend.jibli.notification;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A push notification waiting to be delivered. Rows are written in the same transaction
+ * as the business change that triggers them and drained by {@link NotificationOutboxDispatcher}.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, nextAttemptAt"),
+        @Index(name = "idx_outbox_recipient_coalesce", columnList = "recipientUserId, coalesceKey")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long outboxId;
+
+    @Column(nullable = false)
+    private Long recipientUserId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Convert(converter = NotificationDataConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private Map<String, String> data;
+
+    // Entries sharing a key for the same recipient are merged into one push while pending
+    @Column(length = 100)
+    private String coalesceKey;
+
+    // Number of notifications this entry stands for once merged
+    @Column(nullable = false)
+    private int coalescedCount = 1;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private NotificationOutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    public void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        if (this.status == null) {
+            this.status = NotificationOutboxStatus.PENDING;
+        }
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = this.createdAt;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.backend.jibli.notification;
+
+import com.backend.jibli.firebase.BatchSendResult;
+import com.google.firebase.messaging.MessagingErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Drains {@link NotificationOutbox} in the background. Each batch is claimed with
+ * SELECT ... FOR UPDATE SKIP LOCKED, so several application nodes can poll the same
+ * table without sending a notification twice. Failed sends are retried with
+ * exponential backoff until {@code maxAttempts}, then left as FAILED for inspection.
+ * Sends are paced by {@link NotificationRateLimiter}: a recipient over their rate is
+ * pushed back without spending an attempt, and an exhausted global budget ends the poll.
+ */
+@Component
+@Slf4j
+public class NotificationOutboxDispatcher {
+
+    // FCM answers that will not change on retry
+    private static final Set<MessagingErrorCode> PERMANENT_ERRORS = Set.of(
+            MessagingErrorCode.UNREGISTERED,
+            MessagingErrorCode.INVALID_ARGUMENT,
+            MessagingErrorCode.SENDER_ID_MISMATCH
+    );
+
+    private final INotificationOutboxRepository outboxRepository;
+    private final NotificationService notificationService;
+    private final NotificationRateLimiter rateLimiter;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int retentionDays;
+
+    public NotificationOutboxDispatcher(INotificationOutboxRepository outboxRepository,
+                                        NotificationService notificationService,
+                                        NotificationRateLimiter rateLimiter,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${notifications.outbox.batch-size:100}") int batchSize,
+                                        @Value("${notifications.outbox.max-attempts:8}") int maxAttempts,
+                                        @Value("${notifications.outbox.initial-backoff-ms:2000}") long initialBackoffMs,
+                                        @Value("${notifications.outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+                                        @Value("${notifications.outbox.retention-days:7}") int retentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.notificationService = notificationService;
+        this.rateLimiter = rateLimiter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.retentionDays = retentionDays;
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        Boolean more;
+        do {
+            // One transaction per batch: row locks are released as soon as the batch is recorded
+            more = transactionTemplate.execute(status -> dispatchBatch());
+        } while (Boolean.TRUE.equals(more));
+    }
+
+    @Scheduled(cron = "${notifications.outbox.purge-cron:0 0 4 * * *}")
+    @Transactional
+    public void purge() {
+        int deleted = outboxRepository.deleteFinishedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("🧹 Purged {} delivered notifications older than {} days", deleted, retentionDays);
+        }
+    }
+
+    /**
+     * Returns true when a full batch was handled and more may be due.
+     */
+    private boolean dispatchBatch() {
+        List<NotificationOutbox> due = outboxRepository.claimDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        for (NotificationOutbox entry : due) {
+            // Global first: a recipient's permit is only spent on a send that happens
+            if (!rateLimiter.tryAcquireGlobal()) {
+                // Unsent entries stay PENDING and are picked up by a later poll
+                log.warn("⏳ Global notification rate reached, pausing the outbox");
+                return false;
+            }
+            Duration wait = rateLimiter.tryAcquireForUser(entry.getRecipientUserId());
+            if (!wait.isZero()) {
+                rateLimiter.releaseGlobal();
+                entry.setNextAttemptAt(LocalDateTime.now().plus(wait));
+                continue;
+            }
+            deliver(entry);
+        }
+        return due.size() == batchSize;
+    }
+
+    private void deliver(NotificationOutbox entry) {
+        entry.setAttempts(entry.getAttempts() + 1);
+        try {
+            BatchSendResult result = notificationService.deliverToUser(
+                    entry.getRecipientUserId(), entry.getTitle(), entry.getBody(), entry.getData());
+            if (result.getSuccessCount() > 0) {
+                entry.setStatus(NotificationOutboxStatus.SENT);
+                entry.setSentAt(LocalDateTime.now());
+                entry.setLastError(null);
+            } else if (result.getFailureCount() == 0) {
+                // No registered device
+                entry.setStatus(NotificationOutboxStatus.SKIPPED);
+                entry.setLastError(null);
+            } else if (result.getFailures().stream().allMatch(failure -> PERMANENT_ERRORS.contains(failure.getErrorCode()))) {
+                fail(entry, describe(result.getFailures().get(0)));
+            } else {
+                retryLater(entry, describe(result.getFailures().get(0)));
+            }
+        } catch (RuntimeException e) {
+            retryLater(entry, e.getMessage());
+        }
+    }
+
+    private void retryLater(NotificationOutbox entry, String error) {
+        if (entry.getAttempts() >= maxAttempts) {
+            fail(entry, error);
+            return;
+        }
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(entry.getAttempts() - 1, 20));
+        if (backoff.compareTo(maxBackoff) > 0) {
+            backoff = maxBackoff;
+        }
+        entry.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        entry.setLastError(truncate(error));
+        log.warn("⚠️ Notification {} failed (attempt {}), retrying in {}s: {}",
+                entry.getOutboxId(), entry.getAttempts(), backoff.toSeconds(), error);
+    }
+
+    private void fail(NotificationOutbox entry, String error) {
+        entry.setStatus(NotificationOutboxStatus.FAILED);
+        entry.setLastError(truncate(error));
+        log.error("❌ Notification {} abandoned after {} attempts: {}",
+                entry.getOutboxId(), entry.getAttempts(), error);
+    }
+
+    private static String describe(BatchSendResult.TokenFailure failure) {
+        return failure.getErrorCode() + ": " + failure.getMessage();
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
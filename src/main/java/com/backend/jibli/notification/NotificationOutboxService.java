@@ -0,0 +1,87 @@
+package com.backend.jibli.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point for business code that needs to push a notification. Enqueuing only
+ * inserts a row, so it joins the caller's transaction: the notification exists if and
+ * only if the change that caused it was committed.
+ * <p>
+ * Notifications enqueued with a {@link NotificationDigest} are coalesced per recipient:
+ * the first of a burst goes out at once, anything following within the window is held
+ * and merged into a single summary push sent when the window closes.
+ */
+@Service
+@Slf4j
+public class NotificationOutboxService {
+
+    private final INotificationOutboxRepository outboxRepository;
+    private final Duration coalesceWindow;
+
+    public NotificationOutboxService(INotificationOutboxRepository outboxRepository,
+                                     @Value("${notifications.coalesce.window-seconds:30}") long coalesceWindowSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.coalesceWindow = Duration.ofSeconds(coalesceWindowSeconds);
+    }
+
+    @Transactional
+    public void enqueue(Long recipientUserId, String title, String body, Map<String, String> data) {
+        if (recipientUserId == null) {
+            return;
+        }
+        NotificationOutbox entry = new NotificationOutbox();
+        entry.setRecipientUserId(recipientUserId);
+        entry.setTitle(title);
+        entry.setBody(body);
+        entry.setData(data);
+        outboxRepository.save(entry);
+        log.debug("📥 Notification queued for user {}: {}", recipientUserId, title);
+    }
+
+    @Transactional
+    public void enqueue(Long recipientUserId, String title, String body, Map<String, String> data,
+                        NotificationDigest digest) {
+        if (recipientUserId == null) {
+            return;
+        }
+        List<NotificationOutbox> pending = outboxRepository.findPendingToCoalesce(
+                recipientUserId, digest.key(), PageRequest.of(0, 1));
+        if (!pending.isEmpty()) {
+            NotificationOutbox entry = pending.get(0);
+            int count = entry.getCoalescedCount() + 1;
+            Map<String, String> merged = new HashMap<>(data != null ? data : Map.of());
+            merged.put("count", String.valueOf(count));
+            entry.setCoalescedCount(count);
+            entry.setTitle(digest.title());
+            entry.setBody(digest.body(count));
+            entry.setData(merged);
+            log.debug("📥 Notification for user {} merged into {} ({} pending)", recipientUserId, entry.getOutboxId(), count);
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        NotificationOutbox entry = new NotificationOutbox();
+        entry.setRecipientUserId(recipientUserId);
+        entry.setTitle(title);
+        entry.setBody(body);
+        entry.setData(data);
+        entry.setCoalesceKey(digest.key());
+        // Something of this kind was just pushed: hold this one so the rest of the burst can join it
+        if (outboxRepository.existsByRecipientUserIdAndCoalesceKeyAndSentAtAfter(
+                recipientUserId, digest.key(), now.minus(coalesceWindow))) {
+            entry.setNextAttemptAt(now.plus(coalesceWindow));
+        }
+        outboxRepository.save(entry);
+        log.debug("📥 Notification queued for user {}: {}", recipientUserId, title);
+    }
+}
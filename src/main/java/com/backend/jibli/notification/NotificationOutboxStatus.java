@@ -0,0 +1,9 @@
+package com.backend.jibli.notification;
+
+public enum NotificationOutboxStatus {
+    PENDING,
+    SENT,
+    // Recipient has no device to deliver to; nothing to retry
+    SKIPPED,
+    FAILED
+}
@@ -0,0 +1,74 @@
+package com.backend.jibli.notification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Send budget of the outbox dispatcher: a global rate protecting the FCM quota and a
+ * per-recipient rate limiting device wakeups. Buckets live in memory, so with several
+ * nodes the effective limits are per node.
+ */
+@Component
+public class NotificationRateLimiter {
+
+    private final TokenBucket global;
+    private final Cache<Long, TokenBucket> perUser;
+    private final int userBurst;
+    private final double userPerSecond;
+    private final Counter globalThrottled;
+    private final Counter userThrottled;
+
+    public NotificationRateLimiter(MeterRegistry meterRegistry,
+                                   @Value("${notifications.rate-limit.global-per-second:200}") double globalPerSecond,
+                                   @Value("${notifications.rate-limit.user-per-minute:6}") double userPerMinute,
+                                   @Value("${notifications.rate-limit.user-burst:3}") int userBurst) {
+        this.global = new TokenBucket(globalPerSecond, globalPerSecond);
+        this.userBurst = userBurst;
+        this.userPerSecond = userPerMinute / 60d;
+        // A bucket idle this long is full again, so dropping it changes nothing
+        long refillSeconds = (long) Math.ceil(userBurst / userPerSecond);
+        this.perUser = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofSeconds(Math.max(refillSeconds, 1)))
+                .maximumSize(100_000)
+                .build();
+        this.globalThrottled = Counter.builder("notifications.throttled").tag("scope", "global").register(meterRegistry);
+        this.userThrottled = Counter.builder("notifications.throttled").tag("scope", "user").register(meterRegistry);
+    }
+
+    /**
+     * Takes a permit from the global budget; false means stop sending for now.
+     */
+    public boolean tryAcquireGlobal() {
+        if (global.tryAcquire()) {
+            return true;
+        }
+        globalThrottled.increment();
+        return false;
+    }
+
+    /**
+     * Returns a global permit that was not used for a send.
+     */
+    public void releaseGlobal() {
+        global.release();
+    }
+
+    /**
+     * Takes a permit for the recipient. Returns {@link Duration#ZERO} when granted,
+     * otherwise how long to wait before the recipient can be notified again.
+     */
+    public Duration tryAcquireForUser(Long userId) {
+        TokenBucket bucket = perUser.get(userId, id -> new TokenBucket(userBurst, userPerSecond));
+        if (bucket.tryAcquire()) {
+            return Duration.ZERO;
+        }
+        userThrottled.increment();
+        return Duration.ofNanos(bucket.nanosUntilNextPermit());
+    }
+}
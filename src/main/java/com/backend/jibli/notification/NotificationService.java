@@ -1,16 +1,16 @@
 package com.backend.jibli.notification;
 
-import com.backend.jibli.user.User;
+import com.backend.jibli.firebase.BatchSendResult;
+import com.backend.jibli.firebase.FcmTokenRegistry;
+import com.backend.jibli.firebase.FirebaseMessagingService;
 import com.backend.jibli.user.IUserRepository;
-import com.google.firebase.messaging.FirebaseMessaging;
-import com.google.firebase.messaging.Message;
-import com.google.firebase.messaging.Notification;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 @Service
 @Slf4j
@@ -19,21 +19,28 @@ public class NotificationService {
     @Autowired
     private IUserRepository userRepository;
 
+    @Autowired
+    private FirebaseMessagingService firebaseMessagingService;
+
+    @Autowired
+    private FcmTokenRegistry fcmTokenRegistry;
+
     /**
-     * Save FCM token for user
+     * Save FCM token for user (one per device, a user can have several)
      */
     public boolean saveFCMToken(int userId, String fcmToken) {
         try {
-            Optional<User> userOpt = userRepository.findById(userId);
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                user.setFcmToken(fcmToken);
-                userRepository.save(user);
-                log.info("✅ FCM token saved for user: {}", userId);
-                return true;
+            if (fcmToken == null || fcmToken.isBlank()) {
+                log.warn("⚠️ Empty FCM token for user: {}", userId);
+                return false;
             }
-            log.warn("⚠️ User not found: {}", userId);
-            return false;
+            if (!userRepository.existsById(userId)) {
+                log.warn("⚠️ User not found: {}", userId);
+                return false;
+            }
+            fcmTokenRegistry.register(userId, fcmToken);
+            log.info("✅ FCM token saved for user: {}", userId);
+            return true;
         } catch (Exception e) {
             log.error("❌ Error saving FCM token: {}", e.getMessage(), e);
             return false;
@@ -41,24 +48,23 @@ public class NotificationService {
     }
 
     /**
-     * Send notification to specific user
+     * Remove the FCM token of one device, e.g. on logout
+     */
+    public boolean removeFCMToken(int userId, String fcmToken) {
+        boolean removed = fcmTokenRegistry.unregister(userId, fcmToken);
+        if (removed) {
+            log.info("✅ FCM token removed for user: {}", userId);
+        }
+        return removed;
+    }
+
+    /**
+     * Send notification to specific user, on every device they registered
      */
     public boolean sendNotificationToUser(Long userId, String title, String body, Map<String, String> data) {
         try {
-            Optional<User> userOpt = userRepository.findById(Math.toIntExact(userId));
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                String fcmToken = user.getFcmToken();
-
-                if (fcmToken != null && !fcmToken.isEmpty()) {
-                    return sendNotification(fcmToken, title, body, data);
-                } else {
-                    log.warn("⚠️ No FCM token found for user: {}", userId);
-                }
-            } else {
-                log.warn("⚠️ User not found: {}", userId);
-            }
-            return false;
+            BatchSendResult result = deliverToUser(userId, title, body, data);
+            return result.getSuccessCount() > 0;
         } catch (Exception e) {
             log.error("❌ Error sending notification: {}", e.getMessage(), e);
             return false;
@@ -68,51 +74,48 @@ public class NotificationService {
     /**
      * Send notification to multiple users
      */
-    public void sendNotificationToMultipleUsers(Iterable<Long> userIds, String title, String body, Map<String, String> data) {
-        for (Long userId : userIds) {
-            sendNotificationToUser(userId, title, body, data);
-        }
+    public BatchSendResult sendNotificationToMultipleUsers(Iterable<Long> userIds, String title, String body, Map<String, String> data) {
+        List<Integer> ids = new ArrayList<>();
+        userIds.forEach(userId -> ids.add(Math.toIntExact(userId)));
+
+        List<String> tokens = new ArrayList<>();
+        fcmTokenRegistry.tokensFor(ids).values().forEach(tokens::addAll);
+        log.info("📤 Sending notification to {} users ({} devices)", ids.size(), tokens.size());
+
+        return sendNotificationToTokens(tokens, title, body, data);
     }
 
     /**
-     * Send raw notification using FCM token - FIXED VERSION
+     * Send notification to already resolved device tokens, batched per FCM multicast call
      */
-    private boolean sendNotification(String fcmToken, String title, String body, Map<String, String> data) {
-        try {
-            log.info("📤 Sending notification to token: {}", fcmToken.substring(0, 20) + "...");
-
-            // Build data payload with notification info
-            Map<String, String> payload = new java.util.HashMap<>();
-            if (data != null) {
-                payload.putAll(data);
-            }
-            payload.put("title", title);
-            payload.put("body", body);
-            payload.put("click_action", "FLUTTER_NOTIFICATION_CLICK");
-
-            Message message = Message.builder()
-                    .setToken(fcmToken)
-                    .putAllData(payload)
-                    .setNotification(Notification.builder()
-                            .setTitle(title)
-                            .setBody(body)
-                            .build())
-                    .build();
-
-            log.info("📨 Message created:");
-            log.info("  Title: {}", title);
-            log.info("  Body: {}", body);
-            log.info("  Data keys: {}", payload.keySet());
+    public BatchSendResult sendNotificationToTokens(List<String> fcmTokens, String title, String body, Map<String, String> data) {
+        return firebaseMessagingService.sendMulticast(fcmTokens, title, body, buildPayload(title, body, data));
+    }
 
-            String response = FirebaseMessaging.getInstance().send(message);
+    /**
+     * Delivers to all of the user's devices and reports the outcome per device. An empty
+     * result means the user has no registered device.
+     */
+    public BatchSendResult deliverToUser(Long userId, String title, String body, Map<String, String> data) {
+        List<String> tokens = fcmTokenRegistry.tokensFor(Math.toIntExact(userId));
+        if (tokens.isEmpty()) {
+            log.warn("⚠️ No FCM token found for user: {}", userId);
+            return new BatchSendResult();
+        }
+        BatchSendResult result = sendNotificationToTokens(tokens, title, body, data);
+        log.info("✅ Notification to user {} - Delivered: {}/{} devices", userId, result.getSuccessCount(), tokens.size());
+        return result;
+    }
 
-            log.info("✅ Notification sent successfully");
-            log.info("Message ID: {}", response);
-            return true;
-        } catch (Exception e) {
-            log.error("❌ Error sending notification: {}", e.getMessage());
-            log.error("Full error: ", e);
-            return false;
+    // Build data payload with notification info
+    private Map<String, String> buildPayload(String title, String body, Map<String, String> data) {
+        Map<String, String> payload = new java.util.HashMap<>();
+        if (data != null) {
+            payload.putAll(data);
         }
+        payload.put("title", title);
+        payload.put("body", body);
+        payload.put("click_action", "FLUTTER_NOTIFICATION_CLICK");
+        return payload;
     }
-}
\ No newline at end of file
+}
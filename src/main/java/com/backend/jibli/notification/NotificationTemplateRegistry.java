@@ -0,0 +1,90 @@
+package com.backend.jibli.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Titles and bodies of every {@link NotificationEvent}, read once at startup from
+ * {@code notifications/templates.properties} (French) and its {@code _ar} variant.
+ * A missing French text fails startup; a missing Arabic one falls back to French.
+ */
+@Component
+@Slf4j
+public class NotificationTemplateRegistry {
+
+    public static final Locale DEFAULT_LOCALE = Locale.FRENCH;
+    private static final Locale ARABIC = Locale.forLanguageTag("ar");
+
+    private record CompiledTemplate(MessageTemplate title, MessageTemplate body) {
+    }
+
+    private final Map<String, Map<NotificationEvent, CompiledTemplate>> templatesByLanguage = new HashMap<>();
+
+    public NotificationTemplateRegistry() throws IOException {
+        Map<NotificationEvent, CompiledTemplate> french = load("notifications/templates.properties", Map.of());
+        templatesByLanguage.put(DEFAULT_LOCALE.getLanguage(), french);
+        templatesByLanguage.put(ARABIC.getLanguage(), load("notifications/templates_ar.properties", french));
+        log.info("✅ Loaded notification templates for {} events in {}", french.size(),
+                List.of(DEFAULT_LOCALE.getLanguage(), ARABIC.getLanguage()));
+    }
+
+    public RenderedNotification render(NotificationEvent event, Map<String, ?> params) {
+        return render(event, DEFAULT_LOCALE, params);
+    }
+
+    /**
+     * Renders the event in the given language, French when the language is not supported.
+     * The data payload holds the route, the type and the event's non-null data keys.
+     */
+    public RenderedNotification render(NotificationEvent event, Locale locale, Map<String, ?> params) {
+        Map<NotificationEvent, CompiledTemplate> templates = templatesByLanguage.getOrDefault(
+                locale != null ? locale.getLanguage() : DEFAULT_LOCALE.getLanguage(),
+                templatesByLanguage.get(DEFAULT_LOCALE.getLanguage()));
+        CompiledTemplate template = templates.get(event);
+
+        Map<String, String> data = new HashMap<>(event.getDataKeys().size() + 2);
+        for (String key : event.getDataKeys()) {
+            Object value = params.get(key);
+            if (value != null) {
+                data.put(key, value.toString());
+            }
+        }
+        data.put("route", event.getRoute());
+        data.put("type", event.getType());
+        return new RenderedNotification(template.title().render(params), template.body().render(params), data);
+    }
+
+    private Map<NotificationEvent, CompiledTemplate> load(String path, Map<NotificationEvent, CompiledTemplate> fallback)
+            throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(new ClassPathResource(path).getInputStream(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        Map<NotificationEvent, CompiledTemplate> templates = new EnumMap<>(NotificationEvent.class);
+        for (NotificationEvent event : NotificationEvent.values()) {
+            String title = properties.getProperty(event.name() + ".title");
+            String body = properties.getProperty(event.name() + ".body");
+            if (title != null && body != null) {
+                templates.put(event, new CompiledTemplate(MessageTemplate.compile(title), MessageTemplate.compile(body)));
+            } else if (fallback.containsKey(event)) {
+                templates.put(event, fallback.get(event));
+            } else {
+                throw new IllegalStateException("Missing notification template for " + event + " in " + path);
+            }
+        }
+        return templates;
+    }
+}
@@ -0,0 +1,6 @@
+package com.backend.jibli.notification;
+
+import java.util.Map;
+
+public record RenderedNotification(String title, String body, Map<String, String> data) {
+}
@@ -0,0 +1,49 @@
+package com.backend.jibli.notification;
+
+/**
+ * Classic token bucket: holds at most {@code capacity} permits, refilled continuously at
+ * {@code refillPerSecond}.
+ */
+class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double available;
+    private long lastRefill;
+
+    TokenBucket(double capacity, double refillPerSecond) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.available = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    synchronized boolean tryAcquire() {
+        refill();
+        if (available < 1) {
+            return false;
+        }
+        available -= 1;
+        return true;
+    }
+
+    // Gives back a permit taken for work that did not happen
+    synchronized void release() {
+        refill();
+        available = Math.min(capacity, available + 1);
+    }
+
+    /**
+     * Nanoseconds until the next permit becomes available, 0 if one is available now.
+     */
+    synchronized long nanosUntilNextPermit() {
+        refill();
+        return available >= 1 ? 0 : (long) Math.ceil((1 - available) / refillPerNano);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        available = Math.min(capacity, available + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
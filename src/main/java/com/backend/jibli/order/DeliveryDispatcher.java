@@ -0,0 +1,377 @@
+package com.backend.jibli.order;
+
+import com.backend.jibli.notification.NotificationEvent;
+import com.backend.jibli.notification.NotificationOutboxService;
+import com.backend.jibli.notification.NotificationTemplateRegistry;
+import com.backend.jibli.notification.RenderedNotification;
+import com.backend.jibli.user.IUserRepository;
+import com.backend.jibli.user.UserRole;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Offers WAITING orders to delivery drivers. An order entering WAITING without a driver
+ * is offered to the available driver with the fewest open orders; an offer that is
+ * neither accepted nor picked up within {@code offerTimeout}, or that is REJECTED, moves
+ * on to the next driver.
+ * <p>
+ * Driver loads and pending offers live in memory and are driven by
+ * {@link OrderStatusChangedEvent}s and {@link OrderDeletedEvent}s. Both are rebuilt from
+ * the database at startup and reconciled with it every {@code reconcile-ms}, which
+ * repairs any drift from changes that bypassed the events. Every offer is a conditional update on the order, so a
+ * stale timeout or a second node can never take an order away from a driver who already
+ * accepted it. Orders changed on another node are not seen here, so the dispatcher is
+ * meant to run on a single node.
+ */
+@Component
+@ConditionalOnProperty(name = "delivery.dispatch.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class DeliveryDispatcher {
+
+    // Statuses in which an order occupies its driver
+    private static final Set<OrderStatus> OPEN_STATUSES =
+            EnumSet.of(OrderStatus.WAITING, OrderStatus.ACCEPTED, OrderStatus.PICKED_UP);
+
+    private static final class Offer {
+        private final Set<Integer> triedDrivers = new HashSet<>();
+        private Integer driverId;
+        private ScheduledFuture<?> timeout;
+    }
+
+    private final IOrderRepository orderRepository;
+    private final IUserRepository userRepository;
+    private final OrderStateMachine orderStateMachine;
+    private final NotificationOutboxService notificationOutbox;
+    private final NotificationTemplateRegistry templates;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration offerTimeout;
+    private final int maxOpenOrdersPerDriver;
+
+    private final Map<Integer, AtomicInteger> openOrdersByDriver = new ConcurrentHashMap<>();
+    private final Map<Integer, Offer> offers = new ConcurrentHashMap<>();
+
+    public DeliveryDispatcher(IOrderRepository orderRepository,
+                              IUserRepository userRepository,
+                              OrderStateMachine orderStateMachine,
+                              NotificationOutboxService notificationOutbox,
+                              NotificationTemplateRegistry templates,
+                              ApplicationEventPublisher eventPublisher,
+                              @Qualifier("deliveryDispatchScheduler") TaskScheduler taskScheduler,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${delivery.dispatch.offer-timeout-seconds:90}") long offerTimeoutSeconds,
+                              @Value("${delivery.dispatch.max-open-orders-per-driver:3}") int maxOpenOrdersPerDriver) {
+        this.orderRepository = orderRepository;
+        this.userRepository = userRepository;
+        this.orderStateMachine = orderStateMachine;
+        this.notificationOutbox = notificationOutbox;
+        this.templates = templates;
+        this.eventPublisher = eventPublisher;
+        this.taskScheduler = taskScheduler;
+        // Listeners run after the triggering transaction committed, so writes need their own
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.offerTimeout = Duration.ofSeconds(offerTimeoutSeconds);
+        this.maxOpenOrdersPerDriver = maxOpenOrdersPerDriver;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        int waiting = reconcile();
+        log.info("🚚 Delivery dispatcher started: {} drivers busy, {} orders waiting", openOrdersByDriver.size(), waiting);
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.dispatch.reconcile-ms:300000}",
+            initialDelayString = "${delivery.dispatch.reconcile-ms:300000}")
+    public void reconcileWithDatabase() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("❌ Delivery dispatcher reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replaces the driver loads with the counts in the database, drops offers of orders
+     * that no longer wait, and picks up waiting orders nobody tracks. Returns the number of
+     * waiting orders.
+     */
+    private int reconcile() {
+        Map<Integer, Integer> loads = new HashMap<>();
+        for (DriverLoad load : orderRepository.countOrdersPerDriver(OPEN_STATUSES)) {
+            loads.put(load.deliveryId(), load.openOrders().intValue());
+        }
+        openOrdersByDriver.keySet().retainAll(loads.keySet());
+        loads.forEach((driverId, count) ->
+                openOrdersByDriver.computeIfAbsent(driverId, id -> new AtomicInteger()).set(count));
+
+        List<OrderAssignment> waiting = orderRepository.findWaitingAssignments();
+        Set<Integer> waitingIds = new HashSet<>();
+        waiting.forEach(assignment -> waitingIds.add(assignment.orderId()));
+        for (Integer orderId : List.copyOf(offers.keySet())) {
+            if (!waitingIds.contains(orderId)) {
+                forget(orderId);
+            }
+        }
+        for (OrderAssignment assignment : waiting) {
+            if (offers.containsKey(assignment.orderId())) {
+                continue;
+            }
+            if (assignment.deliveryId() == null) {
+                offerToNextDriver(assignment.orderId());
+            } else {
+                track(assignment.orderId(), assignment.deliveryId());
+            }
+        }
+        return waiting.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        updateLoad(event);
+        try {
+            if (event.from() == event.to()) {
+                // Handed to another driver: restart the offer timeout for the new one
+                if (event.to() == OrderStatus.WAITING && event.deliveryId() != null) {
+                    track(event.orderId(), event.deliveryId());
+                }
+                return;
+            }
+            switch (event.to()) {
+                case WAITING -> {
+                    if (event.deliveryId() == null) {
+                        offerToNextDriver(event.orderId());
+                    } else {
+                        track(event.orderId(), event.deliveryId());
+                    }
+                }
+                case REJECTED -> reofferRejected(event.orderId(), event.deliveryId());
+                default -> forget(event.orderId());
+            }
+        } catch (Exception e) {
+            log.error("❌ Dispatch of order {} failed: {}", event.orderId(), e.getMessage(), e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderDeleted(OrderDeletedEvent event) {
+        if (event.deliveryId() != null && OPEN_STATUSES.contains(event.status())) {
+            decrement(event.deliveryId());
+        }
+        forget(event.orderId());
+    }
+
+    // The order stops counting for the driver it had and starts counting for the one it has
+    private void updateLoad(OrderStatusChangedEvent event) {
+        Integer previous = event.from() != null && OPEN_STATUSES.contains(event.from()) ? event.previousDeliveryId() : null;
+        Integer current = OPEN_STATUSES.contains(event.to()) ? event.deliveryId() : null;
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        if (previous != null) {
+            decrement(previous);
+        }
+        if (current != null) {
+            increment(current);
+        }
+    }
+
+    private void offerToNextDriver(Integer orderId) {
+        Offer offer = offers.computeIfAbsent(orderId, id -> new Offer());
+        synchronized (offer) {
+            Optional<Integer> driver = nextDriver(offer);
+            if (driver.isEmpty()) {
+                log.warn("⚠️ No available driver for order {}, retrying in {}s", orderId, offerTimeout.toSeconds());
+                schedule(orderId, offer, () -> offerToNextDriver(orderId));
+                return;
+            }
+            Integer driverId = driver.get();
+            // On commit, the resulting event counts the order for the driver and tracks the offer
+            Boolean offered = transactionTemplate.execute(status -> {
+                if (orderRepository.offerDelivery(orderId, userRepository.getReferenceById(driverId), LocalDateTime.now()) == 0) {
+                    return false;
+                }
+                notifyDriver(orderId);
+                publishReassigned(orderId, null);
+                return true;
+            });
+            if (!Boolean.TRUE.equals(offered)) {
+                // Assigned by someone else in the meantime; their status change drives what follows
+                offers.remove(orderId, offer);
+            }
+        }
+    }
+
+    private void onOfferTimeout(Integer orderId, Integer driverId) {
+        Offer offer = offers.get(orderId);
+        if (offer == null) {
+            return;
+        }
+        synchronized (offer) {
+            if (!driverId.equals(offer.driverId)) {
+                return;
+            }
+            Optional<Integer> next = nextDriver(offer);
+            if (next.isEmpty()) {
+                // Nobody else can take it: leave it with the current driver and look again later
+                offer.triedDrivers.clear();
+                offerTo(orderId, offer, driverId);
+                return;
+            }
+            Integer nextId = next.get();
+            // On commit, the resulting event moves the load and tracks the new offer
+            Boolean moved = transactionTemplate.execute(status -> {
+                if (orderRepository.reofferDelivery(orderId, userRepository.getReferenceById(driverId),
+                        userRepository.getReferenceById(nextId), LocalDateTime.now()) == 0) {
+                    return false;
+                }
+                notifyDriver(orderId);
+                notifyWithdrawn(orderId, driverId);
+                publishReassigned(orderId, driverId);
+                return true;
+            });
+            if (Boolean.TRUE.equals(moved)) {
+                log.info("⏰ Order {} not taken by driver {} in time, offered to driver {}", orderId, driverId, nextId);
+            }
+        }
+    }
+
+    private void reofferRejected(Integer orderId, Integer rejectedBy) {
+        Offer offer = offers.computeIfAbsent(orderId, id -> new Offer());
+        synchronized (offer) {
+            cancelTimeout(offer);
+            if (rejectedBy != null) {
+                offer.triedDrivers.add(rejectedBy);
+            }
+            Optional<Integer> next = nextDriver(offer);
+            if (next.isEmpty()) {
+                // The owner was told about the rejection and can reassign by hand
+                log.warn("⚠️ Order {} rejected and no other driver is available", orderId);
+                offers.remove(orderId, offer);
+                return;
+            }
+            Integer nextId = next.get();
+            // The resulting WAITING event tracks the new offer
+            transactionTemplate.executeWithoutResult(status -> {
+                orderStateMachine.transition(orderId, OrderStatus.WAITING, nextId);
+                notifyDriver(orderId);
+            });
+        }
+    }
+
+    private void track(Integer orderId, Integer driverId) {
+        Offer offer = offers.computeIfAbsent(orderId, id -> new Offer());
+        synchronized (offer) {
+            offerTo(orderId, offer, driverId);
+        }
+    }
+
+    private void forget(Integer orderId) {
+        Offer offer = offers.remove(orderId);
+        if (offer != null) {
+            synchronized (offer) {
+                cancelTimeout(offer);
+            }
+        }
+    }
+
+    private void offerTo(Integer orderId, Offer offer, Integer driverId) {
+        offer.driverId = driverId;
+        offer.triedDrivers.add(driverId);
+        schedule(orderId, offer, () -> onOfferTimeout(orderId, driverId));
+    }
+
+    private void schedule(Integer orderId, Offer offer, Runnable task) {
+        cancelTimeout(offer);
+        offer.timeout = taskScheduler.schedule(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("❌ Dispatch of order {} failed: {}", orderId, e.getMessage(), e);
+            }
+        }, Instant.now().plus(offerTimeout));
+    }
+
+    private static void cancelTimeout(Offer offer) {
+        if (offer.timeout != null) {
+            offer.timeout.cancel(false);
+            offer.timeout = null;
+        }
+    }
+
+    private Optional<Integer> nextDriver(Offer offer) {
+        return userRepository.findAvailableIdsByRole(UserRole.Delivery).stream()
+                .filter(driverId -> !offer.triedDrivers.contains(driverId))
+                .filter(driverId -> load(driverId) < maxOpenOrdersPerDriver)
+                .min(Comparator.comparingInt(this::load).thenComparing(Comparator.naturalOrder()));
+    }
+
+    private int load(Integer driverId) {
+        AtomicInteger count = openOrdersByDriver.get(driverId);
+        return count != null ? count.get() : 0;
+    }
+
+    private void increment(Integer driverId) {
+        openOrdersByDriver.computeIfAbsent(driverId, id -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private void decrement(Integer driverId) {
+        openOrdersByDriver.computeIfPresent(driverId, (id, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+
+    // Same-status event for a driver change, published inside the transaction that made it
+    private void publishReassigned(Integer orderId, Integer previousDeliveryId) {
+        orderRepository.findPartiesById(orderId).ifPresent(parties -> eventPublisher.publishEvent(
+                new OrderStatusChangedEvent(orderId, OrderStatus.WAITING, OrderStatus.WAITING,
+                        parties.customerId(), parties.companyId(), parties.deliveryId(), previousDeliveryId)));
+    }
+
+    private void notifyWithdrawn(Integer orderId, Integer driverId) {
+        orderRepository.findById(orderId).ifPresent(order -> {
+            RenderedNotification notification = templates.render(NotificationEvent.DRIVER_DELIVERY_WITHDRAWN,
+                    OrderNotificationParams.of(order, "WAITING"));
+            notificationOutbox.enqueue(driverId.longValue(), notification.title(), notification.body(), notification.data());
+        });
+    }
+
+    private void notifyDriver(Integer orderId) {
+        orderRepository.findById(orderId).ifPresent(order -> {
+            if (order.getDelivery() == null) {
+                return;
+            }
+            RenderedNotification notification = templates.render(NotificationEvent.DRIVER_DELIVERY_ASSIGNED,
+                    OrderNotificationParams.of(order, "WAITING"));
+            notificationOutbox.enqueue(order.getDelivery().getUserId().longValue(),
+                    notification.title(), notification.body(), notification.data());
+        });
+    }
+}
@@ -1,10 +1,22 @@
 package com.backend.jibli.order;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface IOrderItemRepository extends JpaRepository<OrderItem, Integer> {
     List<OrderItem> findByOrderOrderId(Integer orderId);
     List<OrderItem> findByProductProductId(Integer productId);
+
+    @Query("SELECT new com.backend.jibli.order.OrderItemSummaryDTO(oi.order.orderId, oi.orderItemId, p.productId, " +
+            "p.productName, oi.quantity, oi.unitPrice, oi.totalPrice) " +
+            "FROM OrderItem oi LEFT JOIN oi.product p WHERE oi.order.orderId IN :orderIds")
+    List<OrderItemSummaryDTO> findSummariesByOrderIds(@Param("orderIds") Collection<Integer> orderIds);
+
+    @Query("SELECT new com.backend.jibli.order.OrderItemRef(oi.order.orderId, oi.orderItemId) " +
+            "FROM OrderItem oi WHERE oi.order.orderId IN :orderIds")
+    List<OrderItemRef> findItemRefsByOrderIds(@Param("orderIds") Collection<Integer> orderIds);
 }
\ No newline at end of file
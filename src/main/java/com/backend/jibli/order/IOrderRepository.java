@@ -1,18 +1,21 @@
 package com.backend.jibli.order;
 
 import com.backend.jibli.user.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface IOrderRepository extends JpaRepository<Order, Integer> {
     List<Order> findByUserUserId(Integer userId);
-    @Query("SELECT DISTINCT o FROM Order o " +
-            "LEFT JOIN FETCH o.orderItems oi " +
-            "LEFT JOIN FETCH oi.product")
+    // Items are read separately by OrderReadModel; fetching them here multiplied the rows
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.company")
     List<Order> findAllWithProducts();
 
     // ✅ Fetch a specific order (with all related entities)
@@ -25,18 +28,107 @@ public interface IOrderRepository extends JpaRepository<Order, Integer> {
     Optional<Order> findByIdWithProducts(@Param("orderId") Integer orderId);
 
     @Query("""
-    SELECT DISTINCT o FROM Order o
-    LEFT JOIN FETCH o.orderItems oi
-    LEFT JOIN FETCH oi.product
-    LEFT JOIN FETCH o.delivery
-    LEFT JOIN FETCH o.assignedBy
+    SELECT o FROM Order o
+    LEFT JOIN FETCH o.company
     WHERE o.delivery.userId = :deliveryId
     """)
     List<Order> findOrdersByDeliveryId(@Param("deliveryId") Integer deliveryId);
 
     List<Order> findOrdersByCompanyCompanyId(Integer companyId);
+
+    // Keyset page, newest first. Every filter is optional; unset ones reduce to true
+    @Query("SELECT new com.backend.jibli.order.OrderSummaryDTO(o.orderId, u.userId, c.companyId, c.companyName, " +
+            "d.userId, o.customerName, o.customerPhone, o.customerAddress, o.totalAmount, o.deliveryFee, " +
+            "o.orderStatus, o.createdAt, o.lastUpdated) " +
+            "FROM Order o LEFT JOIN o.user u LEFT JOIN o.company c LEFT JOIN o.delivery d " +
+            "WHERE (:afterId IS NULL OR o.orderId < :afterId) " +
+            "AND (:companyId IS NULL OR c.companyId = :companyId) " +
+            "AND (:deliveryId IS NULL OR d.userId = :deliveryId) " +
+            "AND (:userId IS NULL OR u.userId = :userId) " +
+            "AND (:status IS NULL OR o.orderStatus = :status) " +
+            "AND (:from IS NULL OR o.createdAt >= :from) " +
+            "AND (:to IS NULL OR o.createdAt < :to) " +
+            "ORDER BY o.orderId DESC")
+    List<OrderSummaryDTO> findSummaries(@Param("afterId") Integer afterId,
+                                        @Param("companyId") Integer companyId,
+                                        @Param("deliveryId") Integer deliveryId,
+                                        @Param("userId") Integer userId,
+                                        @Param("status") OrderStatus status,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to,
+                                        Pageable pageable);
+
+    List<Order> findByCompanyCompanyIdAndLastUpdatedAfter(Integer companyId, LocalDateTime since);
+
+    List<Order> findByUserUserIdAndLastUpdatedAfter(Integer userId, LocalDateTime since);
     @Query("SELECT u FROM User u JOIN UserCompany uc ON u.userId = uc.user.userId WHERE uc.company.companyId = :companyId")
     List<User> findUserByCompanyCompanyId(@Param("companyId") Integer companyId);
 
+    @Query("SELECT o.orderStatus FROM Order o WHERE o.orderId = :orderId")
+    Optional<OrderStatus> findStatusById(@Param("orderId") Integer orderId);
+
+    @Query("SELECT o.delivery.userId FROM Order o WHERE o.orderId = :orderId")
+    Optional<Integer> findDeliveryIdById(@Param("orderId") Integer orderId);
+
+    @Query("SELECT new com.backend.jibli.order.OrderParties(o.orderId, u.userId, c.companyId, d.userId) FROM Order o " +
+            "LEFT JOIN o.user u LEFT JOIN o.company c LEFT JOIN o.delivery d WHERE o.orderId = :orderId")
+    Optional<OrderParties> findPartiesById(@Param("orderId") Integer orderId);
+
+    // Matches no row when the status is no longer :expected, see OrderStateMachine
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    UPDATE Order o SET
+        o.orderStatus = :target,
+        o.version = o.version + 1,
+        o.lastUpdated = :now,
+        o.inPreparationDate = CASE WHEN :target = com.backend.jibli.order.OrderStatus.IN_PREPARATION THEN :now ELSE o.inPreparationDate END,
+        o.waitingDate = CASE WHEN :target = com.backend.jibli.order.OrderStatus.WAITING THEN :now ELSE o.waitingDate END,
+        o.acceptedDate = CASE WHEN :target = com.backend.jibli.order.OrderStatus.ACCEPTED THEN :now ELSE o.acceptedDate END,
+        o.pickedUpDate = CASE WHEN :target = com.backend.jibli.order.OrderStatus.PICKED_UP THEN :now ELSE o.pickedUpDate END,
+        o.shippedDate = CASE WHEN :target = com.backend.jibli.order.OrderStatus.PICKED_UP THEN :now ELSE o.shippedDate END,
+        o.deliveredDate = CASE WHEN :target = com.backend.jibli.order.OrderStatus.DELIVERED THEN :now ELSE o.deliveredDate END,
+        o.canceledDate = CASE WHEN :target = com.backend.jibli.order.OrderStatus.CANCELED THEN :now ELSE o.canceledDate END
+    WHERE o.orderId = :orderId AND o.orderStatus = :expected
+    """)
+    int transitionStatus(@Param("orderId") Integer orderId,
+                         @Param("expected") OrderStatus expected,
+                         @Param("target") OrderStatus target,
+                         @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.delivery = :delivery WHERE o.orderId = :orderId")
+    int assignDelivery(@Param("orderId") Integer orderId, @Param("delivery") User delivery);
+
+    // Offers of DeliveryDispatcher: each only applies while the order still waits on the expected driver
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.delivery = :delivery, o.version = o.version + 1, o.lastUpdated = :now " +
+            "WHERE o.orderId = :orderId AND o.orderStatus = com.backend.jibli.order.OrderStatus.WAITING " +
+            "AND o.delivery IS NULL")
+    int offerDelivery(@Param("orderId") Integer orderId, @Param("delivery") User delivery, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.delivery = :delivery, o.version = o.version + 1, o.lastUpdated = :now " +
+            "WHERE o.orderId = :orderId AND o.orderStatus = com.backend.jibli.order.OrderStatus.WAITING " +
+            "AND o.delivery = :previous")
+    int reofferDelivery(@Param("orderId") Integer orderId, @Param("previous") User previous,
+                        @Param("delivery") User delivery, @Param("now") LocalDateTime now);
+
+    // Hands the order to another driver while it is still in :status with the :previous one
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.delivery = :delivery, o.version = o.version + 1, o.lastUpdated = :now " +
+            "WHERE o.orderId = :orderId AND o.orderStatus = :status " +
+            "AND (o.delivery = :previous OR (o.delivery IS NULL AND :previous IS NULL))")
+    int reassignDelivery(@Param("orderId") Integer orderId, @Param("status") OrderStatus status,
+                         @Param("previous") User previous, @Param("delivery") User delivery,
+                         @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.backend.jibli.order.DriverLoad(d.userId, COUNT(o)) FROM Order o JOIN o.delivery d " +
+            "WHERE o.orderStatus IN :statuses GROUP BY d.userId")
+    List<DriverLoad> countOrdersPerDriver(@Param("statuses") Collection<OrderStatus> statuses);
+
+    @Query("SELECT new com.backend.jibli.order.OrderAssignment(o.orderId, d.userId) FROM Order o LEFT JOIN o.delivery d " +
+            "WHERE o.orderStatus = com.backend.jibli.order.OrderStatus.WAITING")
+    List<OrderAssignment> findWaitingAssignments();
+
 
 }
@@ -2,6 +2,7 @@ package com.backend.jibli.order;
 
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,10 @@ public interface IOrderService {
     List<OrderDTO> findAllWithProducts();
     List<OrderDTO> findOrdersByDeliveryId(@Param("deliveryId") Integer deliveryId);
     List<OrderDTO> findOrdersByCompanyCompanyId(Integer companyId);
+    OrderChangesDTO findOrderChangesByCompany(Integer companyId, String since);
+    OrderChangesDTO findOrderChangesByUser(Integer userId, String since);
+    OrderPageDTO findOrderPage(Integer companyId, Integer deliveryId, Integer userId, OrderStatus status,
+                               LocalDateTime from, LocalDateTime to, Integer afterId, int size);
 
 
 
@@ -0,0 +1,22 @@
+package com.backend.jibli.order;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface IOrderTombstoneRepository extends JpaRepository<OrderTombstone, Long> {
+
+    @Query("SELECT t.orderId FROM OrderTombstone t WHERE t.companyId = :companyId AND t.deletedAt > :since")
+    List<Integer> findDeletedOrderIdsByCompany(@Param("companyId") Integer companyId, @Param("since") LocalDateTime since);
+
+    @Query("SELECT t.orderId FROM OrderTombstone t WHERE t.userId = :userId AND t.deletedAt > :since")
+    List<Integer> findDeletedOrderIdsByUser(@Param("userId") Integer userId, @Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM OrderTombstone t WHERE t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
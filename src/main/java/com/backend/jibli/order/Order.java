@@ -8,12 +8,17 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_order_company_updated", columnList = "companyId, lastUpdated"),
+        @Index(name = "idx_order_user_updated", columnList = "userId, lastUpdated"),
+        @Index(name = "idx_order_status", columnList = "orderStatus")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,27 +47,34 @@ public class Order {
     private OrderStatus orderStatus;
     private LocalDateTime createdAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "userId")
     @JsonBackReference
     private User user;
 
+    // Initialised for up to 100 orders of the same list at once
     @OneToMany(mappedBy = "order")
+    @BatchSize(size = 100)
     @JsonIgnore
     private List<OrderItem> orderItems;
 
     private LocalDateTime lastUpdated;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Existing rows start at 0; status changes bump it in OrderStateMachine's UPDATE
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="companyId")
     private Company company;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "deliveryId")
     @JsonIgnore
     private User delivery;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assignedById")
     @JsonIgnore
     private User assignedBy;
@@ -82,7 +94,6 @@ public class Order {
     @PreUpdate
     public void onUpdate() {
         this.lastUpdated = LocalDateTime.now();
-        updateStatusTimestamp();
     }
 
 
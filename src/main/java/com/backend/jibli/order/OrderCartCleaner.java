@@ -0,0 +1,37 @@
+package com.backend.jibli.order;
+
+import com.backend.jibli.cart.ICartService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Empties the customer's cart for the company once a new order has committed. Runs in its
+ * own transaction so a failed cleanup never rolls the order back.
+ */
+@Component
+@Slf4j
+public class OrderCartCleaner {
+
+    private final ICartService cartService;
+
+    public OrderCartCleaner(ICartService cartService) {
+        this.cartService = cartService;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onOrderCreated(OrderStatusChangedEvent event) {
+        if (event.from() != null || event.customerId() == null || event.companyId() == null) {
+            return;
+        }
+        try {
+            cartService.deleteByUserUserIdAndCompanyCompanyId(event.customerId(), event.companyId());
+            log.info("✅ Cart cleared for user: {}, company: {}", event.customerId(), event.companyId());
+        } catch (Exception e) {
+            log.error("⚠️ Failed to clear cart for user ID: {}", event.customerId(), e);
+        }
+    }
+}
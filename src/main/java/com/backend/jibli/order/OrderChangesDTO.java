@@ -0,0 +1,23 @@
+package com.backend.jibli.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Orders created or updated since a sync cursor, and ids of orders deleted since then.
+ * Pass {@code cursor} as {@code since} on the next call. When {@code fullResync} is set
+ * the cursor was older than the deletion history: {@code orders} then holds every order
+ * and the client should replace its copy.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderChangesDTO {
+    private List<OrderDTO> orders;
+    private List<Integer> deletedOrderIds;
+    private String cursor;
+    private boolean fullResync;
+}
@@ -1,10 +1,15 @@
 package com.backend.jibli.order;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -12,10 +17,12 @@ import java.util.List;
 public class OrderController {
 
     private final IOrderService orderService;
+    private final OrderStreamHub orderStreamHub;
 
     @Autowired
-    public OrderController(IOrderService orderService) {
+    public OrderController(IOrderService orderService, OrderStreamHub orderStreamHub) {
         this.orderService = orderService;
+        this.orderStreamHub = orderStreamHub;
     }
 
     @GetMapping
@@ -24,6 +31,37 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    /**
+     * Server-sent events with an OrderDelta each time an order of the given customer,
+     * company or driver is created or changes status. Replaces polling the list endpoints.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOrders(@RequestParam(required = false) Integer userId,
+                                                   @RequestParam(required = false) Integer companyId,
+                                                   @RequestParam(required = false) Integer deliveryId) {
+        if (userId == null && companyId == null && deliveryId == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(orderStreamHub.subscribe(userId, companyId, deliveryId));
+    }
+
+    /**
+     * Keyset-paginated listing, newest first, for dashboards. All filters are optional;
+     * {@code from} is inclusive and {@code to} exclusive on the creation date.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<OrderPageDTO> getOrderPage(
+            @RequestParam(required = false) Integer companyId,
+            @RequestParam(required = false) Integer deliveryId,
+            @RequestParam(required = false) Integer userId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer afterId,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(orderService.findOrderPage(companyId, deliveryId, userId, status, from, to, afterId, size));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrderDTO> getOrderById(@PathVariable Integer id) {
         return orderService.getOrderById(id)
@@ -47,6 +85,8 @@ public class OrderController {
             return orderService.updateOrder(id, dto)
                     .map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
+        } catch (OrderTransitionException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(null);
         }
@@ -93,6 +133,8 @@ public class OrderController {
             return orderService.updateOrder(id, dto)
                     .map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
+        } catch (OrderTransitionException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(null);
         }
@@ -103,6 +145,30 @@ public class OrderController {
         return ResponseEntity.ok(orders);
 
     }
+    /**
+     * Incremental variant: only orders changed and ids of orders deleted since the cursor.
+     * Start with since=0 and pass back the returned cursor.
+     */
+    @GetMapping(value = "/companyOrders/{companyId}", params = "since")
+    public ResponseEntity<OrderChangesDTO> findOrderChangesByCompany(@PathVariable Integer companyId,
+                                                                     @RequestParam String since) {
+        try {
+            return ResponseEntity.ok(orderService.findOrderChangesByCompany(companyId, since));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    @GetMapping(value = "/user/{userId}", params = "since")
+    public ResponseEntity<OrderChangesDTO> findOrderChangesByUser(@PathVariable Integer userId,
+                                                                  @RequestParam String since) {
+        try {
+            return ResponseEntity.ok(orderService.findOrderChangesByUser(userId, since));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
     @GetMapping("/companyOrders/{companyId}")
     public  ResponseEntity<List<OrderDTO>> findOrdersByCompanyCompanyId(@PathVariable Integer companyId) {
         List<OrderDTO> orders = orderService.findOrdersByCompanyCompanyId(companyId);
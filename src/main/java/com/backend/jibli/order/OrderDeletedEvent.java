@@ -0,0 +1,8 @@
+package com.backend.jibli.order;
+
+/**
+ * Published when an order is deleted, with the status and parties it had.
+ */
+public record OrderDeletedEvent(Integer orderId, OrderStatus status,
+                                Integer customerId, Integer companyId, Integer deliveryId) {
+}
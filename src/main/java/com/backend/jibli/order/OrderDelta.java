@@ -0,0 +1,13 @@
+package com.backend.jibli.order;
+
+import java.time.LocalDateTime;
+
+/**
+ * What order stream subscribers receive: enough to patch a list entry in place, or to
+ * fetch the order when the client does not have it yet. A {@code deliveryId} other than
+ * the subscribed driver's means the order was taken from them; {@code deleted} means it
+ * is gone, with the status it last had.
+ */
+public record OrderDelta(Integer orderId, OrderStatus status, OrderStatus previousStatus,
+                         Integer companyId, Integer deliveryId, boolean deleted, LocalDateTime at) {
+}
@@ -0,0 +1,4 @@
+package com.backend.jibli.order;
+
+public record OrderItemRef(Integer orderId, Integer orderItemId) {
+}
@@ -0,0 +1,18 @@
+package com.backend.jibli.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderItemSummaryDTO {
+    private Integer orderId;
+    private Integer orderItemId;
+    private Integer productId;
+    private String productName;
+    private Integer quantity;
+    private Double unitPrice;
+    private Double totalPrice;
+}
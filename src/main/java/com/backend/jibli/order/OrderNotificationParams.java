@@ -0,0 +1,27 @@
+package com.backend.jibli.order;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Placeholder values shared by every order notification template.
+ */
+final class OrderNotificationParams {
+
+    private OrderNotificationParams() {
+    }
+
+    static Map<String, Object> of(Order order, String status) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("orderId", order.getOrderId());
+        params.put("status", status);
+        params.put("customerName", order.getCustomerName());
+        params.put("customerAddress", order.getCustomerAddress());
+        params.put("customerPhone", order.getCustomerPhone());
+        params.put("totalAmount", String.format("%.2f", order.getTotalAmount()));
+        if (order.getCompany() != null) {
+            params.put("companyName", order.getCompany().getCompanyName());
+        }
+        return params;
+    }
+}
@@ -0,0 +1,19 @@
+package com.backend.jibli.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of orders, newest first. Pass {@code nextAfterId} as {@code afterId} to get the
+ * next page; it is null on the last one.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageDTO {
+    private List<OrderSummaryDTO> orders;
+    private Integer nextAfterId;
+}
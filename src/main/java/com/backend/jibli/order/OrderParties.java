@@ -0,0 +1,4 @@
+package com.backend.jibli.order;
+
+public record OrderParties(Integer orderId, Integer customerId, Integer companyId, Integer deliveryId) {
+}
@@ -0,0 +1,98 @@
+package com.backend.jibli.order;
+
+import com.backend.jibli.company.Company;
+import com.backend.jibli.company.CompanyDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Maps orders to {@link OrderDTO}s. For a list, the item ids of every order are read in
+ * one IN query instead of initialising each order's collection; companies are lazy and
+ * batch-fetched ({@code hibernate.default_batch_fetch_size}), while customer, driver and
+ * assigner only contribute their ids and are never loaded. A list therefore costs a fixed
+ * number of statements whatever its size.
+ */
+@Component
+public class OrderReadModel {
+
+    private final IOrderItemRepository orderItemRepository;
+
+    public OrderReadModel(IOrderItemRepository orderItemRepository) {
+        this.orderItemRepository = orderItemRepository;
+    }
+
+    public List<OrderDTO> toDTOs(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> orderIds = orders.stream().map(Order::getOrderId).collect(Collectors.toList());
+        Map<Integer, List<Integer>> itemIdsByOrder = orderItemRepository.findItemRefsByOrderIds(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderItemRef::orderId,
+                        Collectors.mapping(OrderItemRef::orderItemId, Collectors.toList())));
+        return orders.stream()
+                .map(order -> toDTO(order, itemIdsByOrder.getOrDefault(order.getOrderId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    public OrderDTO toDTO(Order order) {
+        if (order == null) return null;
+
+        List<Integer> orderItemIds = order.getOrderItems() != null
+                ? order.getOrderItems().stream()
+                .map(OrderItem::getOrderItemId)
+                .collect(Collectors.toList())
+                : List.of();
+        return toDTO(order, orderItemIds);
+    }
+
+    private OrderDTO toDTO(Order order, List<Integer> orderItemIds) {
+        Company company = order.getCompany();
+        CompanyDTO companyDTO = company != null
+                ? new CompanyDTO(
+                company.getCompanyId(),
+                company.getCompanyName(),
+                company.getCompanyDescription(),
+                company.getCompanySector(),
+                company.getCompanyAddress(),
+                company.getCompanyPhone(),
+                company.getTimeOpen(),
+                company.getTimeClose(),
+                company.getAverageRating()
+        )
+                : null;
+
+        return new OrderDTO(
+                order.getOrderId(),
+                order.getUser() != null ? order.getUser().getUserId() : null,
+                company != null ? company.getCompanyId() : null,
+                order.getCustomerName(),
+                order.getCustomerEmail(),
+                order.getCustomerAddress(),
+                order.getCustomerPhone(),
+                order.getOrderNotes(),
+                order.getTotalProducts(),
+                order.getQuantity(),
+                order.getDiscount(),
+                order.getTotalAmount(),
+                order.getDeliveryFee(),
+                order.getOrderStatus(),
+                order.getOrderDate(),
+                order.getShippedDate(),
+                order.getCreatedAt(),
+                order.getLastUpdated(),
+                orderItemIds,
+                order.getDelivery() != null ? order.getDelivery().getUserId() : null,
+                order.getAssignedBy() != null ? order.getAssignedBy().getUserId() : null,
+                order.getPickedUpDate(),
+                order.getInPreparationDate(),
+                order.getAcceptedDate(),
+                order.getWaitingDate(),
+                order.getCanceledDate(),
+                order.getDeliveredDate(),
+                companyDTO
+        );
+    }
+}
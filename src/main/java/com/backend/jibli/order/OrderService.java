@@ -1,17 +1,28 @@
 package com.backend.jibli.order;
 
-import com.backend.jibli.cart.ICartService;
 import com.backend.jibli.company.Company;
-import com.backend.jibli.company.CompanyDTO;
 import com.backend.jibli.company.ICompanyRepository;
 import com.backend.jibli.company.IUserCompanyRepository;
-import com.backend.jibli.notification.NotificationService;
+import com.backend.jibli.notification.NotificationDigest;
+import com.backend.jibli.notification.NotificationEvent;
+import com.backend.jibli.notification.NotificationOutboxService;
+import com.backend.jibli.notification.NotificationTemplateRegistry;
+import com.backend.jibli.notification.RenderedNotification;
 import com.backend.jibli.user.IUserRepository;
 import com.backend.jibli.user.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,12 +34,35 @@ public class OrderService implements IOrderService {
     private final IUserRepository userRepository;
     private final ICompanyRepository companyRepository;
     private final IOrderItemService orderItemService;
-    private final ICartService cartService;
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
-    private static final String CURRENCY = "TND"; // Tunisian Dinar
+    private static final int MAX_PAGE_SIZE = 100;
 
     @Autowired
-    private NotificationService notificationService;
+    private NotificationOutboxService notificationOutbox;
+
+    @Autowired
+    private NotificationTemplateRegistry templates;
+
+    @Autowired
+    private OrderStateMachine orderStateMachine;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private IOrderTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private IOrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderReadModel orderReadModel;
+
+    @Value("${orders.sync.commit-lag-ms:5000}")
+    private long syncCommitLagMs;
+
+    @Value("${orders.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
 
     @Autowired(required = false)
     private IUserCompanyRepository userCompanyRepository;
@@ -36,19 +70,17 @@ public class OrderService implements IOrderService {
     @Autowired
     public OrderService(IOrderRepository orderRepository, IUserRepository userRepository,
                         ICompanyRepository companyRepository,
-                        IOrderItemService orderItemService, ICartService cartService) {
+                        IOrderItemService orderItemService) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.companyRepository = companyRepository;
         this.orderItemService = orderItemService;
-        this.cartService = cartService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderDTO> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return orderReadModel.toDTOs(orderRepository.findAll());
     }
 
     @Override
@@ -58,6 +90,7 @@ public class OrderService implements IOrderService {
     }
 
     @Override
+    @Transactional
     public OrderDTO createOrder(OrderDTO dto) {
         if (dto.getOrderStatus() == null) {
             throw new IllegalArgumentException("Order status is required");
@@ -91,113 +124,128 @@ public class OrderService implements IOrderService {
         order.setOrderStatus(OrderStatus.PENDING);
 
         Order saved = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(saved.getOrderId(), null, OrderStatus.PENDING,
+                saved.getUser() != null ? saved.getUser().getUserId() : null,
+                saved.getCompany() != null ? saved.getCompany().getCompanyId() : null,
+                null, null));
 
-        // 📱 Send notification to OWNER
+        // 📱 Queue notification to OWNER (delivered once the order is committed)
+        // 🧹 The cart is cleared after commit by OrderCartCleaner
         _notifyOwnerOrderCreated(saved);
 
-        // 🧹 Clear cart
-        if (saved.getUser() != null && saved.getUser().getUserId() != null) {
-            int userId = saved.getUser().getUserId();
-            int companyId = saved.getCompany().getCompanyId();
-
-            try {
-                cartService.deleteByUserUserIdAndCompanyCompanyId(userId, companyId);
-                log.info("✅ Cart cleared for user: {}, company: {}", userId, companyId);
-            } catch (Exception e) {
-                log.error("⚠️ Failed to clear cart for user ID: {}", userId, e);
-            }
-        }
-
         return mapToDTO(saved);
     }
 
     @Override
+    @Transactional
     public Optional<OrderDTO> updateOrder(Integer id, OrderDTO dto) {
+        // Status changes go through the state machine's conditional update, not the entity
+        OrderStateMachine.Transition transition = null;
+        if (dto.getOrderStatus() != null) {
+            Optional<OrderStateMachine.Transition> result =
+                    orderStateMachine.transition(id, dto.getOrderStatus(), dto.getDeliveryId());
+            if (result.isEmpty()) {
+                return Optional.empty();
+            }
+            transition = result.get();
+        }
+
+        OrderStateMachine.Transition statusChange = transition;
         return orderRepository.findById(id)
                 .map(order -> {
-                    OrderStatus oldStatus = order.getOrderStatus();
-                    OrderStatus newStatus = dto.getOrderStatus();
-
-                    if (newStatus != null) {
-                        order.setOrderStatus(newStatus);
-                    }
+                    boolean modified = false;
                     if (dto.getCustomerName() != null) {
                         order.setCustomerName(dto.getCustomerName());
+                        modified = true;
                     }
                     if (dto.getTotalAmount() != null) {
                         order.setTotalAmount(dto.getTotalAmount());
+                        modified = true;
                     }
                     if (dto.getQuantity() != null) {
                         order.setQuantity(dto.getQuantity());
+                        modified = true;
                     }
                     if (dto.getCustomerEmail() != null) {
                         order.setCustomerEmail(dto.getCustomerEmail());
+                        modified = true;
                     }
                     if (dto.getCustomerPhone() != null) {
                         order.setCustomerPhone(dto.getCustomerPhone());
+                        modified = true;
                     }
                     if (dto.getCustomerAddress() != null) {
                         order.setCustomerAddress(dto.getCustomerAddress());
+                        modified = true;
                     }
-                    if (dto.getDeliveryId() != null) {
+                    Integer previousDeliveryId = order.getDelivery() != null ? order.getDelivery().getUserId() : null;
+                    if (dto.getDeliveryId() != null && statusChange == null) {
                         userRepository.findById(dto.getDeliveryId()).ifPresent(order::setDelivery);
+                        modified = true;
                     }
 
-                    Order updated = orderRepository.save(order);
+                    Order updated = modified ? orderRepository.save(order) : order;
+
+                    Integer deliveryId = updated.getDelivery() != null ? updated.getDelivery().getUserId() : null;
+                    if (statusChange == null && !Objects.equals(previousDeliveryId, deliveryId)) {
+                        // Reassigned without a status change: keeps driver loads and streams in step
+                        eventPublisher.publishEvent(new OrderStatusChangedEvent(id,
+                                updated.getOrderStatus(), updated.getOrderStatus(),
+                                updated.getUser() != null ? updated.getUser().getUserId() : null,
+                                updated.getCompany() != null ? updated.getCompany().getCompanyId() : null,
+                                deliveryId, previousDeliveryId));
+                    }
 
-                    if (newStatus != null && !newStatus.equals(oldStatus)) {
-                        _handleStatusChangeNotifications(updated, oldStatus, newStatus);
+                    if (statusChange != null && statusChange.changed()) {
+                        _handleStatusChangeNotifications(updated, statusChange.from(), statusChange.to());
                     }
 
                     return mapToDTO(updated);
                 });
     }
 
+    // Enqueue failures propagate: the outbox rows commit with the order or not at all
     private void _handleStatusChangeNotifications(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
-        try {
-            log.info("📨 Status change: {} → {} for order {}", oldStatus, newStatus, order.getOrderId());
+        log.info("📨 Status change: {} → {} for order {}", oldStatus, newStatus, order.getOrderId());
 
-            switch (newStatus) {
-                case IN_PREPARATION:
-                    if (oldStatus == OrderStatus.PENDING) {
-                        _notifyCustomerOrderAccepted(order);
-                    }
-                    break;
+        switch (newStatus) {
+            case IN_PREPARATION:
+                if (oldStatus == OrderStatus.PENDING) {
+                    _notifyCustomerOrderAccepted(order);
+                }
+                break;
 
-                case WAITING:
-                    if (order.getDelivery() != null && order.getDelivery().getUserId() != null) {
-                        _notifyDeliveryAssigned(order);
-                    }
-                    break;
+            case WAITING:
+                if (order.getDelivery() != null && order.getDelivery().getUserId() != null) {
+                    _notifyDeliveryAssigned(order);
+                }
+                break;
 
-                case PICKED_UP:
-                    if (oldStatus == OrderStatus.WAITING) {
-                        _notifyOwnerDeliveryPickedUp(order);
-                    }
-                    break;
+            case PICKED_UP:
+                if (oldStatus == OrderStatus.WAITING) {
+                    _notifyOwnerDeliveryPickedUp(order);
+                }
+                break;
 
-                case REJECTED:
-                    if (oldStatus == OrderStatus.WAITING) {
-                        _notifyOwnerDeliveryRejected(order);
-                    }
-                    break;
+            case REJECTED:
+                if (oldStatus == OrderStatus.WAITING) {
+                    _notifyOwnerDeliveryRejected(order);
+                }
+                break;
 
-                case DELIVERED:
-                    if (oldStatus == OrderStatus.PICKED_UP) {
-                        _notifyOwnerOrderDelivered(order);
-                        _notifyCustomerOrderDelivered(order);
-                    }
-                    break;
+            case DELIVERED:
+                if (oldStatus == OrderStatus.PICKED_UP) {
+                    _notifyOwnerOrderDelivered(order);
+                    _notifyCustomerOrderDelivered(order);
+                }
+                break;
 
-                case CANCELED:
-                    log.info("⚠️ Order {} cancelled", order.getOrderId());
-                    break;
+            case CANCELED:
+                log.info("⚠️ Order {} cancelled", order.getOrderId());
+                break;
 
-                default:
-                    log.debug("No notification action for status: {}", newStatus);
-            }
-        } catch (Exception e) {
-            log.error("❌ Error handling status change notifications: {}", e.getMessage(), e);
+            default:
+                log.debug("No notification action for status: {}", newStatus);
         }
     }
 
@@ -205,294 +253,124 @@ public class OrderService implements IOrderService {
      * STEP 1: Customer creates order (PENDING) → Owner gets notified
      */
     private void _notifyOwnerOrderCreated(Order order) {
-        try {
-            if (order.getCompany() == null || order.getCompany().getCompanyId() == null) {
-                return;
-            }
-
-            List<User> companyUsers = _getCompanyUsers(order.getCompany().getCompanyId());
-            String orderAmount = String.format("%.2f", order.getTotalAmount());
-            String companyName = order.getCompany().getCompanyName();
-
-            for (User owner : companyUsers) {
-                if (owner.getUserId() != null) {
-                    Long ownerId = owner.getUserId().longValue();
-                    Map<String, String> ownerData = new HashMap<>();
-                    ownerData.put("route", "/orders");
-                    ownerData.put("orderId", order.getOrderId().toString());
-                    ownerData.put("type", "ORDER_CREATED");
-                    ownerData.put("status", "PENDING");
-                    ownerData.put("customerName", order.getCustomerName());
-                    ownerData.put("totalAmount", orderAmount);
-                    ownerData.put("companyName", companyName);
-
-                    String title = "🆕 Nouvelle Commande";
-                    String body = String.format(
-                            "Commande #%d de %s\n💰 Montant: %s %s\n📍 Adresse: %s\n📞 Tél: %s",
-                            order.getOrderId(),
-                            order.getCustomerName(),
-                            orderAmount,
-                            CURRENCY,
-                            order.getCustomerAddress(),
-                            order.getCustomerPhone()
-                    );
-
-                    notificationService.sendNotificationToUser(ownerId, title, body, ownerData);
-                    log.info("✅ Order creation notification sent to owner: {}", owner.getUserId());
-                }
-            }
-        } catch (Exception e) {
-            log.error("❌ Error notifying owner: {}", e.getMessage());
-        }
+        Map<String, Object> params = OrderNotificationParams.of(order, "PENDING");
+        // A burst of orders reaches each owner as one "N nouvelles commandes" push
+        NotificationDigest digest = order.getCompany() == null ? null : new NotificationDigest(
+                "ORDER_CREATED:" + order.getCompany().getCompanyId(),
+                templates.render(NotificationEvent.OWNER_ORDERS_DIGEST, params).title(),
+                count -> {
+                    Map<String, Object> digestParams = new HashMap<>(params);
+                    digestParams.put("count", count);
+                    return templates.render(NotificationEvent.OWNER_ORDERS_DIGEST, digestParams).body();
+                });
+        _notifyCompanyUsers(order, NotificationEvent.OWNER_ORDER_CREATED, params, digest);
     }
 
     /**
      * STEP 2: Owner accepts order (IN_PREPARATION) → Customer gets notified
      */
     private void _notifyCustomerOrderAccepted(Order order) {
-        try {
-            if (order.getUser() == null || order.getUser().getUserId() == null) {
-                return;
-            }
-
-            Long customerId = order.getUser().getUserId().longValue();
-            String companyName = order.getCompany() != null ? order.getCompany().getCompanyName() : "Jibli";
-            String estimatedTime = "30-45 minutes";
-
-            Map<String, String> customerData = new HashMap<>();
-            customerData.put("route", "/orders");
-            customerData.put("orderId", order.getOrderId().toString());
-            customerData.put("type", "ORDER_ACCEPTED");
-            customerData.put("status", "IN_PREPARATION");
-            customerData.put("companyName", companyName);
-
-            String title = "✅ Commande Acceptée";
-            String body = String.format(
-                    "Votre commande #%d est en préparation\n🏪 Magasin: %s\n⏱️ Temps estimé: %s\n💰 Montant: %.2f %s",
-                    order.getOrderId(),
-                    companyName,
-                    estimatedTime,
-                    order.getTotalAmount(),
-                    CURRENCY
-            );
-
-            notificationService.sendNotificationToUser(customerId, title, body, customerData);
-            log.info("✅ Order accepted notification sent to customer: {}", order.getUser().getUserId());
-        } catch (Exception e) {
-            log.error("❌ Error notifying customer (order accepted): {}", e.getMessage());
-        }
+        Map<String, Object> params = OrderNotificationParams.of(order, "IN_PREPARATION");
+        params.putIfAbsent("companyName", "Jibli");
+        params.put("estimatedTime", "30-45 minutes");
+        _notifyUser(order.getUser(), NotificationEvent.CUSTOMER_ORDER_ACCEPTED, params);
     }
 
     /**
      * STEP 3: Owner assigns to delivery (WAITING) → Delivery gets notified
      */
     private void _notifyDeliveryAssigned(Order order) {
-        try {
-            if (order.getDelivery() == null || order.getDelivery().getUserId() == null) {
-                return;
-            }
-
-            Long deliveryId = order.getDelivery().getUserId().longValue();
-            String orderAmount = String.format("%.2f", order.getTotalAmount());
-
-            Map<String, String> deliveryData = new HashMap<>();
-            deliveryData.put("route", "/deliveries");
-            deliveryData.put("orderId", order.getOrderId().toString());
-            deliveryData.put("type", "DELIVERY_ASSIGNED");
-            deliveryData.put("status", "WAITING");
-            deliveryData.put("customerName", order.getCustomerName());
-            deliveryData.put("customerAddress", order.getCustomerAddress());
-            deliveryData.put("customerPhone", order.getCustomerPhone());
-
-            String title = "🚚 Nouvelle Livraison Assignée";
-            String body = String.format(
-                    "Commande #%d à livrer\n👤 Client: %s\n📍 Adresse: %s\n📞 Tél: %s\n💰 Montant: %s %s",
-                    order.getOrderId(),
-                    order.getCustomerName(),
-                    order.getCustomerAddress(),
-                    order.getCustomerPhone(),
-                    orderAmount,
-                    CURRENCY
-            );
-
-            notificationService.sendNotificationToUser(deliveryId, title, body, deliveryData);
-            log.info("✅ Delivery assignment notification sent to delivery: {}", order.getDelivery().getUserId());
-        } catch (Exception e) {
-            log.error("❌ Error notifying delivery: {}", e.getMessage());
-        }
+        _notifyUser(order.getDelivery(), NotificationEvent.DRIVER_DELIVERY_ASSIGNED, OrderNotificationParams.of(order, "WAITING"));
     }
 
     /**
      * STEP 4: Delivery picks up order (PICKED_UP) → Owner gets notified
      */
     private void _notifyOwnerDeliveryPickedUp(Order order) {
-        try {
-            if (order.getCompany() == null || order.getCompany().getCompanyId() == null) {
-                return;
-            }
-
-            List<User> companyUsers = _getCompanyUsers(order.getCompany().getCompanyId());
-            String deliveryName = order.getDelivery() != null ? order.getDelivery().getFullName() : "Livreur";
-            String customerName = order.getCustomerName();
-
-            for (User owner : companyUsers) {
-                if (owner.getUserId() != null) {
-                    Long ownerId = owner.getUserId().longValue();
-                    Map<String, String> ownerData = new HashMap<>();
-                    ownerData.put("route", "/orders");
-                    ownerData.put("orderId", order.getOrderId().toString());
-                    ownerData.put("type", "DELIVERY_PICKED_UP");
-                    ownerData.put("status", "PICKED_UP");
-                    ownerData.put("deliveryName", deliveryName);
-
-                    String title = "📍 Colis Récupéré & En Route";
-                    String body = String.format(
-                            "Commande #%d en cours de livraison\n🚗 Livreur: %s\n👤 Destination: %s\n⏱️ En route maintenant",
-                            order.getOrderId(),
-                            deliveryName,
-                            customerName
-                    );
-
-                    notificationService.sendNotificationToUser(ownerId, title, body, ownerData);
-                    log.info("✅ Delivery picked up notification sent to owner: {}", owner.getUserId());
-                }
-            }
-        } catch (Exception e) {
-            log.error("❌ Error notifying owner (picked up): {}", e.getMessage());
-        }
+        Map<String, Object> params = OrderNotificationParams.of(order, "PICKED_UP");
+        params.put("deliveryName", _deliveryName(order));
+        _notifyCompanyUsers(order, NotificationEvent.OWNER_DELIVERY_PICKED_UP, params, null);
     }
 
     /**
      * STEP 4b: Delivery rejects order (REJECTED) → Owner gets notified
      */
     private void _notifyOwnerDeliveryRejected(Order order) {
-        try {
-            if (order.getCompany() == null || order.getCompany().getCompanyId() == null) {
-                return;
-            }
-
-            List<User> companyUsers = _getCompanyUsers(order.getCompany().getCompanyId());
-            String deliveryName = order.getDelivery() != null ? order.getDelivery().getFullName() : "Livreur";
-
-            for (User owner : companyUsers) {
-                if (owner.getUserId() != null) {
-                    Long ownerId = owner.getUserId().longValue();
-                    Map<String, String> ownerData = new HashMap<>();
-                    ownerData.put("route", "/orders");
-                    ownerData.put("orderId", order.getOrderId().toString());
-                    ownerData.put("type", "DELIVERY_REJECTED");
-                    ownerData.put("status", "REJECTED");
-                    ownerData.put("deliveryName", deliveryName);
-
-                    String title = "❌ Livraison Rejetée";
-                    String body = String.format(
-                            "Commande #%d a été rejetée\n🚗 Livreur: %s\n⚠️ Action requise: Réassigner à un autre livreur",
-                            order.getOrderId(),
-                            deliveryName
-                    );
-
-                    notificationService.sendNotificationToUser(ownerId, title, body, ownerData);
-                    log.info("✅ Delivery rejected notification sent to owner: {}", owner.getUserId());
-                }
-            }
-        } catch (Exception e) {
-            log.error("❌ Error notifying owner (rejected): {}", e.getMessage());
-        }
+        Map<String, Object> params = OrderNotificationParams.of(order, "REJECTED");
+        params.put("deliveryName", _deliveryName(order));
+        _notifyCompanyUsers(order, NotificationEvent.OWNER_DELIVERY_REJECTED, params, null);
     }
 
     /**
      * STEP 6a: Delivery completes order (DELIVERED) → Owner gets notified
      */
     private void _notifyOwnerOrderDelivered(Order order) {
-        try {
-            if (order.getCompany() == null || order.getCompany().getCompanyId() == null) {
-                return;
-            }
-
-            List<User> companyUsers = _getCompanyUsers(order.getCompany().getCompanyId());
-            String orderAmount = String.format("%.2f", order.getTotalAmount());
-
-            for (User owner : companyUsers) {
-                if (owner.getUserId() != null) {
-                    Long ownerId = owner.getUserId().longValue();
-                    Map<String, String> ownerData = new HashMap<>();
-                    ownerData.put("route", "/orders");
-                    ownerData.put("orderId", order.getOrderId().toString());
-                    ownerData.put("type", "ORDER_DELIVERED");
-                    ownerData.put("status", "DELIVERED");
-                    ownerData.put("totalAmount", orderAmount);
-
-                    String title = "✨ Commande Livrée avec Succès";
-                    String body = String.format(
-                            "Commande #%d livrée avec succès\n👤 Client: %s\n💰 Montant reçu: %s %s\n🎉 Transaction complétée",
-                            order.getOrderId(),
-                            order.getCustomerName(),
-                            orderAmount,
-                            CURRENCY
-                    );
-
-                    notificationService.sendNotificationToUser(ownerId, title, body, ownerData);
-                    log.info("✅ Order delivered notification sent to owner: {}", owner.getUserId());
-                }
-            }
-        } catch (Exception e) {
-            log.error("❌ Error notifying owner (delivered): {}", e.getMessage());
-        }
+        _notifyCompanyUsers(order, NotificationEvent.OWNER_ORDER_DELIVERED, OrderNotificationParams.of(order, "DELIVERED"), null);
     }
 
     /**
      * STEP 6b: Delivery completes order (DELIVERED) → Customer gets notified
      */
     private void _notifyCustomerOrderDelivered(Order order) {
-        try {
-            if (order.getUser() == null || order.getUser().getUserId() == null) {
-                return;
-            }
+        _notifyUser(order.getUser(), NotificationEvent.CUSTOMER_ORDER_DELIVERED, OrderNotificationParams.of(order, "DELIVERED"));
+    }
+
+    private String _deliveryName(Order order) {
+        return order.getDelivery() != null ? order.getDelivery().getFullName() : "Livreur";
+    }
 
-            Long customerId = order.getUser().getUserId().longValue();
-            String orderAmount = String.format("%.2f", order.getTotalAmount());
-
-            Map<String, String> customerData = new HashMap<>();
-            customerData.put("route", "/orders");
-            customerData.put("orderId", order.getOrderId().toString());
-            customerData.put("type", "ORDER_DELIVERED");
-            customerData.put("status", "DELIVERED");
-            customerData.put("totalAmount", orderAmount);
-
-            String title = "✨ Commande Reçue!";
-            String body = String.format(
-                    "Votre commande #%d a été livrée avec succès!\n💰 Montant payé: %s %s\n⭐ N'oubliez pas de noter le vendeur\n🙏 Merci de votre confiance",
-                    order.getOrderId(),
-                    orderAmount,
-                    CURRENCY
-            );
-
-            notificationService.sendNotificationToUser(customerId, title, body, customerData);
-            log.info("✅ Order delivered notification sent to customer: {}", order.getUser().getUserId());
-        } catch (Exception e) {
-            log.error("❌ Error notifying customer (delivered): {}", e.getMessage());
+    private void _notifyUser(User recipient, NotificationEvent event, Map<String, Object> params) {
+        if (recipient == null || recipient.getUserId() == null) {
+            return;
         }
+        RenderedNotification notification = templates.render(event, params);
+        notificationOutbox.enqueue(recipient.getUserId().longValue(),
+                notification.title(), notification.body(), notification.data());
+        log.info("✅ {} notification queued for user: {}", event, recipient.getUserId());
     }
 
-    private List<User> _getCompanyUsers(Integer companyId) {
-        try {
-            if (userCompanyRepository != null) {
-                return userCompanyRepository.findUsersByCompanyId(companyId);
+    private void _notifyCompanyUsers(Order order, NotificationEvent event, Map<String, Object> params,
+                                     NotificationDigest digest) {
+        if (order.getCompany() == null || order.getCompany().getCompanyId() == null) {
+            return;
+        }
+        RenderedNotification notification = templates.render(event, params);
+        for (User owner : _getCompanyUsers(order.getCompany().getCompanyId())) {
+            if (owner.getUserId() == null) {
+                continue;
+            }
+            Long ownerId = owner.getUserId().longValue();
+            if (digest != null) {
+                notificationOutbox.enqueue(ownerId, notification.title(), notification.body(), notification.data(), digest);
+            } else {
+                notificationOutbox.enqueue(ownerId, notification.title(), notification.body(), notification.data());
             }
-            return orderRepository.findUserByCompanyCompanyId(companyId);
-        } catch (Exception e) {
-            log.warn("⚠️ Failed to fetch company users: {}", e.getMessage());
-            return List.of();
+            log.info("✅ {} notification queued for owner: {}", event, owner.getUserId());
         }
     }
 
+    private List<User> _getCompanyUsers(Integer companyId) {
+        if (userCompanyRepository != null) {
+            return userCompanyRepository.findUsersByCompanyId(companyId);
+        }
+        return orderRepository.findUserByCompanyCompanyId(companyId);
+    }
+
     @Override
+    @Transactional
     public boolean deleteOrder(Integer id) {
-        if (orderRepository.existsById(id)) {
-            orderRepository.deleteById(id);
-            return true;
+        Optional<OrderParties> parties = orderRepository.findPartiesById(id);
+        if (parties.isEmpty()) {
+            return false;
         }
-        return false;
+        OrderStatus status = orderRepository.findStatusById(id).orElse(null);
+        orderRepository.deleteById(id);
+        eventPublisher.publishEvent(new OrderDeletedEvent(id, status, parties.get().customerId(),
+                parties.get().companyId(), parties.get().deliveryId()));
+        // Lets incremental sync clients drop the order
+        tombstoneRepository.save(new OrderTombstone(null, id,
+                parties.get().companyId(), parties.get().customerId(), LocalDateTime.now()));
+        return true;
     }
 
     @Override
@@ -501,10 +379,9 @@ public class OrderService implements IOrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderDTO> findOrderByUserId(Integer userId) {
-        return orderRepository.findByUserUserId(userId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return orderReadModel.toDTOs(orderRepository.findByUserUserId(userId));
     }
 
     @Override
@@ -515,79 +392,100 @@ public class OrderService implements IOrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderDTO> findAllWithProducts() {
-        return orderRepository.findAllWithProducts().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return orderReadModel.toDTOs(orderRepository.findAllWithProducts());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderDTO> findOrdersByDeliveryId(Integer deliveryId) {
-        return orderRepository.findOrdersByDeliveryId(deliveryId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return orderReadModel.toDTOs(orderRepository.findOrdersByDeliveryId(deliveryId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderDTO> findOrdersByCompanyCompanyId(Integer companyId) {
-        return orderRepository.findOrdersByCompanyCompanyId(companyId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return orderReadModel.toDTOs(orderRepository.findOrdersByCompanyCompanyId(companyId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderChangesDTO findOrderChangesByCompany(Integer companyId, String since) {
+        return _changesSince(since,
+                from -> orderRepository.findByCompanyCompanyIdAndLastUpdatedAfter(companyId, from),
+                from -> tombstoneRepository.findDeletedOrderIdsByCompany(companyId, from));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderChangesDTO findOrderChangesByUser(Integer userId, String since) {
+        return _changesSince(since,
+                from -> orderRepository.findByUserUserIdAndLastUpdatedAfter(userId, from),
+                from -> tombstoneRepository.findDeletedOrderIdsByUser(userId, from));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPageDTO findOrderPage(Integer companyId, Integer deliveryId, Integer userId, OrderStatus status,
+                                      LocalDateTime from, LocalDateTime to, Integer afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // One extra row tells whether another page follows
+        List<OrderSummaryDTO> orders = new ArrayList<>(orderRepository.findSummaries(
+                afterId, companyId, deliveryId, userId, status, from, to, PageRequest.of(0, pageSize + 1)));
+        boolean hasMore = orders.size() > pageSize;
+        if (hasMore) {
+            orders = orders.subList(0, pageSize);
+        }
+
+        if (!orders.isEmpty()) {
+            Map<Integer, List<OrderItemSummaryDTO>> itemsByOrder = orderItemRepository.findSummariesByOrderIds(
+                            orders.stream().map(OrderSummaryDTO::getOrderId).collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.groupingBy(OrderItemSummaryDTO::getOrderId));
+            orders.forEach(order -> order.setItems(itemsByOrder.getOrDefault(order.getOrderId(), List.of())));
+        }
+
+        Integer nextAfterId = hasMore ? orders.get(orders.size() - 1).getOrderId() : null;
+        return new OrderPageDTO(orders, nextAfterId);
+    }
+
+    /**
+     * The cursor is the epoch millisecond up to which the client has seen every change.
+     * It is set {@code syncCommitLagMs} in the past, so a transaction that stamped
+     * lastUpdated just before this read but commits after it is still picked up by the
+     * next call; the client may see such rows twice and should upsert by orderId.
+     */
+    private OrderChangesDTO _changesSince(String since,
+                                          Function<LocalDateTime, List<Order>> changedOrders,
+                                          Function<LocalDateTime, List<Integer>> deletedOrders) {
+        long sinceMillis;
+        try {
+            sinceMillis = since == null || since.isBlank() ? 0 : Long.parseLong(since);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid sync cursor: " + since);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long cursor = Math.max(sinceMillis, _toEpochMillis(now.minus(Duration.ofMillis(syncCommitLagMs))));
+        LocalDateTime from = LocalDateTime.ofInstant(Instant.ofEpochMilli(sinceMillis), ZoneId.systemDefault());
+        // Deletions older than the tombstones we keep are unknown: resend everything
+        boolean fullResync = sinceMillis == 0 || from.isBefore(now.minusDays(tombstoneRetentionDays));
+        if (fullResync) {
+            from = LocalDateTime.ofInstant(Instant.EPOCH, ZoneId.systemDefault());
+        }
+
+        List<OrderDTO> orders = orderReadModel.toDTOs(changedOrders.apply(from));
+        List<Integer> deleted = fullResync ? List.of() : deletedOrders.apply(from);
+        return new OrderChangesDTO(orders, deleted, String.valueOf(cursor), fullResync);
+    }
+
+    private static long _toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 
     private OrderDTO mapToDTO(Order order) {
-        if (order == null) return null;
-
-        List<Integer> orderItemIds = order.getOrderItems() != null
-                ? order.getOrderItems().stream()
-                .map(OrderItem::getOrderItemId)
-                .collect(Collectors.toList())
-                : List.of();
-
-        CompanyDTO companyDTO = order.getCompany() != null
-                ? new CompanyDTO(
-                order.getCompany().getCompanyId(),
-                order.getCompany().getCompanyName(),
-                order.getCompany().getCompanyDescription(),
-                order.getCompany().getCompanySector(),
-                order.getCompany().getCompanyAddress(),
-                order.getCompany().getCompanyPhone(),
-                order.getCompany().getTimeOpen(),
-                order.getCompany().getTimeClose(),
-                order.getCompany().getAverageRating()
-        )
-                : null;
-
-        return new OrderDTO(
-                order.getOrderId(),
-                order.getUser() != null ? order.getUser().getUserId() : null,
-                order.getCompany() != null ? order.getCompany().getCompanyId() : null,
-                order.getCustomerName(),
-                order.getCustomerEmail(),
-                order.getCustomerAddress(),
-                order.getCustomerPhone(),
-                order.getOrderNotes(),
-                order.getTotalProducts(),
-                order.getQuantity(),
-                order.getDiscount(),
-                order.getTotalAmount(),
-                order.getDeliveryFee(),
-                order.getOrderStatus(),
-                order.getOrderDate(),
-                order.getShippedDate(),
-                order.getCreatedAt(),
-                order.getLastUpdated(),
-                orderItemIds,
-                order.getDelivery() != null ? order.getDelivery().getUserId() : null,
-                order.getAssignedBy() != null ? order.getAssignedBy().getUserId() : null,
-                order.getPickedUpDate(),
-                order.getInPreparationDate(),
-                order.getAcceptedDate(),
-                order.getWaitingDate(),
-                order.getCanceledDate(),
-                order.getDeliveredDate(),
-                companyDTO
-        );
+        return orderReadModel.toDTO(order);
     }
 
     private Order mapToEntity(OrderDTO dto) {
@@ -0,0 +1,136 @@
+package com.backend.jibli.order;
+
+import com.backend.jibli.user.IUserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Moves orders between statuses following a fixed transition table:
+ * PENDING → IN_PREPARATION → WAITING → (ACCEPTED →) PICKED_UP → DELIVERED, a driver may
+ * reject a WAITING order (REJECTED → WAITING again once reassigned), and anything not yet
+ * picked up can be CANCELED.
+ * <p>
+ * Each transition is a single {@code UPDATE ... WHERE status = :expected}: when two
+ * requests race, only one matches the row and the other gets an
+ * {@link OrderTransitionException}. Repeating a transition that already happened is a
+ * no-op, so clients can safely retry; repeating it with another driver reassigns a
+ * WAITING or REJECTED order.
+ */
+@Component
+@Slf4j
+public class OrderStateMachine {
+
+    // Statuses in which no driver has taken the order yet, so it may change hands
+    private static final Set<OrderStatus> REASSIGNABLE = EnumSet.of(OrderStatus.WAITING, OrderStatus.REJECTED);
+
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(OrderStatus.PENDING, EnumSet.of(OrderStatus.IN_PREPARATION, OrderStatus.CANCELED));
+        TRANSITIONS.put(OrderStatus.IN_PREPARATION, EnumSet.of(OrderStatus.WAITING, OrderStatus.CANCELED));
+        TRANSITIONS.put(OrderStatus.WAITING, EnumSet.of(OrderStatus.ACCEPTED, OrderStatus.PICKED_UP,
+                OrderStatus.REJECTED, OrderStatus.CANCELED));
+        TRANSITIONS.put(OrderStatus.ACCEPTED, EnumSet.of(OrderStatus.PICKED_UP, OrderStatus.REJECTED, OrderStatus.CANCELED));
+        TRANSITIONS.put(OrderStatus.REJECTED, EnumSet.of(OrderStatus.WAITING, OrderStatus.CANCELED));
+        TRANSITIONS.put(OrderStatus.PICKED_UP, EnumSet.of(OrderStatus.DELIVERED));
+        TRANSITIONS.put(OrderStatus.DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(OrderStatus.CANCELED, EnumSet.noneOf(OrderStatus.class));
+    }
+
+    /**
+     * Outcome of a transition; {@code from == to} when the order was already there.
+     */
+    public record Transition(OrderStatus from, OrderStatus to) {
+        public boolean changed() {
+            return from != to;
+        }
+    }
+
+    private final IOrderRepository orderRepository;
+    private final IUserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OrderStateMachine(IOrderRepository orderRepository, IUserRepository userRepository,
+                             ApplicationEventPublisher eventPublisher) {
+        this.orderRepository = orderRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public static boolean canTransition(OrderStatus from, OrderStatus to) {
+        return TRANSITIONS.getOrDefault(from, Set.of()).contains(to);
+    }
+
+    /**
+     * Moves the order to {@code target}, assigning {@code deliveryId} as its driver when
+     * given. Returns empty when the order does not exist.
+     */
+    @Transactional
+    public Optional<Transition> transition(Integer orderId, OrderStatus target, Integer deliveryId) {
+        Optional<OrderStatus> current = orderRepository.findStatusById(orderId);
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        OrderStatus from = current.get();
+        if (from == target) {
+            return Optional.of(alreadyThere(orderId, target, deliveryId));
+        }
+        if (!canTransition(from, target)) {
+            throw new OrderTransitionException("Cannot move order " + orderId + " from " + from + " to " + target);
+        }
+
+        Integer previousDeliveryId = orderRepository.findDeliveryIdById(orderId).orElse(null);
+        int updated = orderRepository.transitionStatus(orderId, from, target, LocalDateTime.now());
+        if (updated == 0) {
+            // Someone changed the order between our read and our update
+            OrderStatus now = orderRepository.findStatusById(orderId).orElse(null);
+            if (now == target) {
+                return Optional.of(alreadyThere(orderId, target, deliveryId));
+            }
+            throw new OrderTransitionException("Order " + orderId + " was changed concurrently, now " + now);
+        }
+        if (deliveryId != null) {
+            orderRepository.assignDelivery(orderId, userRepository.getReferenceById(deliveryId));
+        }
+        orderRepository.findPartiesById(orderId).ifPresent(parties -> eventPublisher.publishEvent(
+                new OrderStatusChangedEvent(orderId, from, target,
+                        parties.customerId(), parties.companyId(), parties.deliveryId(), previousDeliveryId)));
+        log.info("🔄 Order {} moved {} → {}", orderId, from, target);
+        return Optional.of(new Transition(from, target));
+    }
+
+    /**
+     * A retry of a transition that already happened succeeds. Naming another driver hands
+     * the order over while no driver has taken it yet, and is refused once one has.
+     */
+    private Transition alreadyThere(Integer orderId, OrderStatus target, Integer deliveryId) {
+        Integer previousDeliveryId = orderRepository.findDeliveryIdById(orderId).orElse(null);
+        if (deliveryId == null || Objects.equals(deliveryId, previousDeliveryId)) {
+            return new Transition(target, target);
+        }
+        if (!REASSIGNABLE.contains(target)) {
+            throw new OrderTransitionException("Order " + orderId + " is already " + target + " for another driver");
+        }
+        int updated = orderRepository.reassignDelivery(orderId, target,
+                previousDeliveryId != null ? userRepository.getReferenceById(previousDeliveryId) : null,
+                userRepository.getReferenceById(deliveryId), LocalDateTime.now());
+        if (updated == 0) {
+            throw new OrderTransitionException("Order " + orderId + " was changed concurrently");
+        }
+        orderRepository.findPartiesById(orderId).ifPresent(parties -> eventPublisher.publishEvent(
+                new OrderStatusChangedEvent(orderId, target, target,
+                        parties.customerId(), parties.companyId(), parties.deliveryId(), previousDeliveryId)));
+        log.info("🔁 Order {} handed from driver {} to driver {}", orderId, previousDeliveryId, deliveryId);
+        return new Transition(target, target);
+    }
+}
@@ -0,0 +1,13 @@
+package com.backend.jibli.order;
+
+/**
+ * Published by {@link OrderStateMachine} for every effective status change, on creation
+ * with a null {@code from}, and when an order is handed to another driver without a
+ * status change ({@code from == to}). The ids are those of the order once the change is
+ * applied; {@code deliveryId} is null while no driver is assigned and
+ * {@code previousDeliveryId} is the driver the order had before.
+ */
+public record OrderStatusChangedEvent(Integer orderId, OrderStatus from, OrderStatus to,
+                                      Integer customerId, Integer companyId, Integer deliveryId,
+                                      Integer previousDeliveryId) {
+}
@@ -0,0 +1,169 @@
+package com.backend.jibli.order;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes {@link OrderDelta}s to clients subscribed to a customer, a company or a driver
+ * over server-sent events. An idle subscription is only an {@link SseEmitter} in the
+ * topic maps: the servlet request is async, so no thread is held between events. Each
+ * delta is serialized and framed once, then written to subscribers from {@code orderStreamExecutor},
+ * never from the thread that committed the change.
+ */
+@Component
+@Slf4j
+public class OrderStreamHub {
+
+    private final Map<String, Set<SseEmitter>> subscribersByTopic = new ConcurrentHashMap<>();
+    private final Map<SseEmitter, List<String>> topicsBySubscriber = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor streamExecutor;
+    private final long timeoutMillis;
+
+    public OrderStreamHub(ObjectMapper objectMapper,
+                          @Qualifier("orderStreamExecutor") TaskExecutor streamExecutor,
+                          @Value("${orders.stream.timeout-minutes:30}") long timeoutMinutes) {
+        this.objectMapper = objectMapper;
+        this.streamExecutor = streamExecutor;
+        this.timeoutMillis = Duration.ofMinutes(timeoutMinutes).toMillis();
+    }
+
+    /**
+     * Opens a stream of the orders of any of the given parties; null ids are ignored.
+     * Clients reconnect when the stream times out.
+     */
+    public SseEmitter subscribe(Integer userId, Integer companyId, Integer deliveryId) {
+        List<String> topics = new ArrayList<>(3);
+        if (userId != null) topics.add(userTopic(userId));
+        if (companyId != null) topics.add(companyTopic(companyId));
+        if (deliveryId != null) topics.add(driverTopic(deliveryId));
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> unsubscribe(emitter));
+        emitter.onTimeout(() -> unsubscribe(emitter));
+        emitter.onError(e -> unsubscribe(emitter));
+
+        topicsBySubscriber.put(emitter, topics);
+        for (String topic : topics) {
+            subscribersByTopic.computeIfAbsent(topic, t -> ConcurrentHashMap.newKeySet()).add(emitter);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        Set<SseEmitter> recipients = ConcurrentHashMap.newKeySet();
+        addSubscribers(recipients, event.customerId() != null ? userTopic(event.customerId()) : null);
+        addSubscribers(recipients, event.companyId() != null ? companyTopic(event.companyId()) : null);
+        addSubscribers(recipients, event.deliveryId() != null ? driverTopic(event.deliveryId()) : null);
+        // The driver the order was taken from drops it on seeing another deliveryId
+        addSubscribers(recipients, event.previousDeliveryId() != null ? driverTopic(event.previousDeliveryId()) : null);
+        publish(recipients, new OrderDelta(event.orderId(), event.to(), event.from(),
+                event.companyId(), event.deliveryId(), false, LocalDateTime.now()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderDeleted(OrderDeletedEvent event) {
+        Set<SseEmitter> recipients = ConcurrentHashMap.newKeySet();
+        addSubscribers(recipients, event.customerId() != null ? userTopic(event.customerId()) : null);
+        addSubscribers(recipients, event.companyId() != null ? companyTopic(event.companyId()) : null);
+        addSubscribers(recipients, event.deliveryId() != null ? driverTopic(event.deliveryId()) : null);
+        publish(recipients, new OrderDelta(event.orderId(), event.status(), null,
+                event.companyId(), event.deliveryId(), true, LocalDateTime.now()));
+    }
+
+    // Comments are ignored by EventSource clients but reveal dead connections and keep proxies from closing idle ones
+    @Scheduled(fixedDelayString = "${orders.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        if (topicsBySubscriber.isEmpty()) {
+            return;
+        }
+        List<SseEmitter> subscribers = new ArrayList<>(topicsBySubscriber.keySet());
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        streamExecutor.execute(() -> subscribers.forEach(emitter -> send(emitter, ping)));
+    }
+
+    public int subscriberCount() {
+        return topicsBySubscriber.size();
+    }
+
+    private void publish(Set<SseEmitter> recipients, OrderDelta delta) {
+        if (recipients.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(delta);
+        } catch (JsonProcessingException e) {
+            log.error("❌ Could not serialize order delta {}: {}", delta.orderId(), e.getMessage());
+            return;
+        }
+        // Built once: build() appends a trailing chunk to the builder on every call
+        Set<ResponseBodyEmitter.DataWithMediaType> message = SseEmitter.event().name("order")
+                .data(json, MediaType.APPLICATION_JSON).build();
+        streamExecutor.execute(() -> recipients.forEach(emitter -> send(emitter, message)));
+    }
+
+    private void send(SseEmitter emitter, Set<ResponseBodyEmitter.DataWithMediaType> message) {
+        try {
+            emitter.send(message);
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void addSubscribers(Set<SseEmitter> recipients, String topic) {
+        if (topic == null) {
+            return;
+        }
+        Set<SseEmitter> subscribers = subscribersByTopic.get(topic);
+        if (subscribers != null) {
+            recipients.addAll(subscribers);
+        }
+    }
+
+    private void unsubscribe(SseEmitter emitter) {
+        List<String> topics = topicsBySubscriber.remove(emitter);
+        if (topics == null) {
+            return;
+        }
+        for (String topic : topics) {
+            subscribersByTopic.computeIfPresent(topic, (t, subscribers) -> {
+                subscribers.remove(emitter);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+
+    private static String userTopic(Integer userId) {
+        return "user:" + userId;
+    }
+
+    private static String companyTopic(Integer companyId) {
+        return "company:" + companyId;
+    }
+
+    private static String driverTopic(Integer deliveryId) {
+        return "driver:" + deliveryId;
+    }
+}
@@ -0,0 +1,50 @@
+package com.backend.jibli.order;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One row of the paged order listings: the order's own columns plus its items, read
+ * with projections instead of loading Order entities.
+ */
+@Data
+@NoArgsConstructor
+public class OrderSummaryDTO {
+    private Integer orderId;
+    private Integer userId;
+    private Integer companyId;
+    private String companyName;
+    private Integer deliveryId;
+    private String customerName;
+    private String customerPhone;
+    private String customerAddress;
+    private Double totalAmount;
+    private Double deliveryFee;
+    private OrderStatus orderStatus;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastUpdated;
+    private List<OrderItemSummaryDTO> items = List.of();
+
+    // Used by the JPQL constructor expression in IOrderRepository.findSummaries
+    public OrderSummaryDTO(Integer orderId, Integer userId, Integer companyId, String companyName,
+                           Integer deliveryId, String customerName, String customerPhone,
+                           String customerAddress, Double totalAmount, Double deliveryFee,
+                           OrderStatus orderStatus, LocalDateTime createdAt, LocalDateTime lastUpdated) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.companyId = companyId;
+        this.companyName = companyName;
+        this.deliveryId = deliveryId;
+        this.customerName = customerName;
+        this.customerPhone = customerPhone;
+        this.customerAddress = customerAddress;
+        this.totalAmount = totalAmount;
+        this.deliveryFee = deliveryFee;
+        this.orderStatus = orderStatus;
+        this.createdAt = createdAt;
+        this.lastUpdated = lastUpdated;
+    }
+}
@@ -0,0 +1,36 @@
+package com.backend.jibli.order;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records a deleted order so incremental sync clients learn to drop it. Kept for
+ * {@code orders.sync.tombstone-retention-days}; clients whose cursor is older must
+ * resync in full.
+ */
+@Entity
+@Table(name = "order_tombstones", indexes = {
+        @Index(name = "idx_tombstone_company_deleted", columnList = "companyId, deletedAt"),
+        @Index(name = "idx_tombstone_user_deleted", columnList = "userId, deletedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long tombstoneId;
+
+    @Column(nullable = false)
+    private Integer orderId;
+
+    private Integer companyId;
+    private Integer userId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,32 @@
+package com.backend.jibli.order;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Component
+@Slf4j
+public class OrderTombstonePurgeJob {
+
+    private final IOrderTombstoneRepository tombstoneRepository;
+    private final int retentionDays;
+
+    public OrderTombstonePurgeJob(IOrderTombstoneRepository tombstoneRepository,
+                                  @Value("${orders.sync.tombstone-retention-days:30}") int retentionDays) {
+        this.tombstoneRepository = tombstoneRepository;
+        this.retentionDays = retentionDays;
+    }
+
+    @Scheduled(cron = "${orders.sync.tombstone-purge-cron:0 15 4 * * *}")
+    @Transactional
+    public void purge() {
+        int deleted = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("🧹 Purged {} order tombstones older than {} days", deleted, retentionDays);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.backend.jibli.order;
+
+/**
+ * A status change the order's current state does not allow, or one that lost a race
+ * against a concurrent change.
+ */
+public class OrderTransitionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public OrderTransitionException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,14 @@
 package com.backend.jibli.product;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface IProductRepository extends JpaRepository<Product, Integer> {
+public interface IProductRepository extends JpaRepository<Product, Integer>, ProductSearchRepository {
     @Query("""
     SELECT p
     FROM Product p
@@ -16,4 +18,58 @@ public interface IProductRepository extends JpaRepository<Product, Integer> {
     """)
     List<Product> findByUserUserId(Integer userId);
     List<Product> findByCompanyCompanyId(Integer companyId);
+
+    @Query("""
+    SELECT p
+    FROM Product p
+    LEFT JOIN FETCH p.company
+    LEFT JOIN FETCH p.category
+    LEFT JOIN FETCH p.user
+    WHERE p.productId > :afterId
+    ORDER BY p.productId
+    """)
+    List<Product> findBatchAfter(Integer afterId, Pageable pageable);
+
+    @Query("""
+    SELECT new com.backend.jibli.product.ProductSummaryDTO(
+        p.productId, p.productName, p.productPrice, p.productFinalePrice, p.discountPercentage,
+        p.isAvailable, p.category.categoryId, p.company.companyId, p.createdAt,
+        p.ratingAverage, p.ratingCount)
+    FROM Product p
+    WHERE p.company.companyId = :companyId AND p.isAvailable = true AND p.ratingCount > 0
+    ORDER BY p.ratingAverage DESC, p.ratingCount DESC, p.productId
+    """)
+    List<ProductSummaryDTO> findTopRatedByCompany(Integer companyId, Pageable pageable);
+
+    // sign is 1 to add a review's rating, -1 to remove it; ratingAverage is assigned first
+    // so it reads the pre-update totals on every database
+    @Modifying
+    @Query("""
+    UPDATE Product p SET
+        p.ratingAverage = CASE WHEN p.ratingCount + :sign > 0
+            THEN (p.ratingSum + :sign * :rating) * 1.0 / (p.ratingCount + :sign) ELSE 0.0 END,
+        p.ratingSum = p.ratingSum + :sign * :rating,
+        p.ratingCount = p.ratingCount + :sign,
+        p.rating1 = p.rating1 + CASE WHEN :rating = 1 THEN :sign ELSE 0 END,
+        p.rating2 = p.rating2 + CASE WHEN :rating = 2 THEN :sign ELSE 0 END,
+        p.rating3 = p.rating3 + CASE WHEN :rating = 3 THEN :sign ELSE 0 END,
+        p.rating4 = p.rating4 + CASE WHEN :rating = 4 THEN :sign ELSE 0 END,
+        p.rating5 = p.rating5 + CASE WHEN :rating = 5 THEN :sign ELSE 0 END
+    WHERE p.productId = :productId
+    """)
+    int applyRatingDelta(Integer productId, long rating, long sign);
+
+    @Modifying
+    @Query("""
+    UPDATE Product p SET
+        p.ratingAverage = COALESCE((SELECT AVG(r.rating) FROM Review r WHERE r.product = p AND r.rating > 0), 0.0),
+        p.ratingSum = COALESCE((SELECT SUM(r.rating) FROM Review r WHERE r.product = p AND r.rating > 0), 0),
+        p.ratingCount = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.rating > 0),
+        p.rating1 = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.rating = 1),
+        p.rating2 = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.rating = 2),
+        p.rating3 = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.rating = 3),
+        p.rating4 = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.rating = 4),
+        p.rating5 = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.rating = 5)
+    """)
+    int recomputeRatings();
 }
\ No newline at end of file
@@ -20,6 +20,8 @@ public interface IProductService {
     List<OrderItemDTO> getProductOrderItems(Integer productId);
     List<ProductDTO> findByUserUserId(Integer userId);
     List<ProductDTO> findByCompanyCompanyId(Integer companyId);
+    ProductPage searchProducts(ProductSearchCriteria criteria);
+    List<ProductSummaryDTO> findTopRatedByCompany(Integer companyId, int limit);
 
 
 
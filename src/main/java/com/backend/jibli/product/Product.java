@@ -10,6 +10,7 @@ import com.backend.jibli.review.Review;
 import com.backend.jibli.user.User;
 import com.fasterxml.jackson.annotation.*;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,7 +19,14 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_product_company_price", columnList = "companyId, product_finale_price, productId"),
+        @Index(name = "idx_product_company_created", columnList = "companyId, createdAt, productId"),
+        @Index(name = "idx_product_category_price", columnList = "categoryId, product_finale_price, productId"),
+        @Index(name = "idx_product_price", columnList = "product_finale_price, productId"),
+        @Index(name = "idx_product_created", columnList = "createdAt, productId"),
+        @Index(name = "idx_product_company_rating", columnList = "companyId, ratingAverage")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -74,6 +82,40 @@ public class Product {
     @Column(name = "product_finale_price")
     private Double productFinalePrice;
 
+    // Rating aggregates maintained by ReviewService; ratingN counts the N-star reviews.
+    // Not updatable so saving a stale entity cannot overwrite a concurrent delta.
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long ratingCount = 0L;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long ratingSum = 0L;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Double ratingAverage = 0.0;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long rating1 = 0L;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long rating2 = 0L;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long rating3 = 0L;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long rating4 = 0L;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long rating5 = 0L;
+
     @PrePersist
     public void onCreate() {
         LocalDateTime now = LocalDateTime.now();
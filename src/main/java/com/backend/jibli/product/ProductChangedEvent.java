@@ -0,0 +1,8 @@
+package com.backend.jibli.product;
+
+/**
+ * Published after a product is created, updated or deleted. companyId is the owning
+ * company at the time of the change, null if the product has none.
+ */
+public record ProductChangedEvent(Integer productId, Integer companyId, boolean deleted) {
+}
@@ -28,6 +28,40 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * Paginated catalog search. Pass the returned nextCursor as {@code cursor} to get
+     * the following page; sort is price or createdAt (newest first by default).
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ProductPage> searchProducts(
+            @RequestParam(required = false) Integer companyId,
+            @RequestParam(required = false) Integer categoryId,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            ProductSearchCriteria criteria = new ProductSearchCriteria();
+            criteria.setCompanyId(companyId);
+            criteria.setCategoryId(categoryId);
+            criteria.setAvailable(available);
+            criteria.setMinPrice(minPrice);
+            criteria.setMaxPrice(maxPrice);
+            criteria.setSort(ProductSort.fromParam(sort));
+            criteria.setAscending("asc".equalsIgnoreCase(direction));
+            if (cursor != null && !cursor.isBlank()) {
+                criteria.setAfter(ProductCursor.decode(cursor, criteria.getSort(), criteria.isAscending()));
+            }
+            criteria.setLimit(limit);
+            return ResponseEntity.ok(productService.searchProducts(criteria));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProductDTO> getProductById(@PathVariable Integer id) {
         return productService.getProductById(id)
@@ -119,4 +153,15 @@ public class ProductController {
             return ResponseEntity.badRequest().body(null);
         }
     }
+
+    @GetMapping("/companyProducts/{companyId}/top-rated")
+    public ResponseEntity<List<ProductSummaryDTO>> findTopRatedByCompany(
+            @PathVariable Integer companyId,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(productService.findTopRatedByCompany(companyId, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
 }
\ No newline at end of file
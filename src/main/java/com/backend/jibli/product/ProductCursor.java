@@ -0,0 +1,42 @@
+package com.backend.jibli.product;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a search page: its sort value plus its id as tie-breaker.
+ * Sent to clients as an opaque token that also records the sort it belongs to, so a
+ * cursor cannot be replayed against a different ordering.
+ */
+public record ProductCursor(ProductSort sort, boolean ascending, Double price, LocalDateTime createdAt,
+                            Integer productId) {
+
+    public static ProductCursor after(ProductSummaryDTO last, ProductSort sort, boolean ascending) {
+        return new ProductCursor(sort, ascending, last.getProductFinalePrice(), last.getCreatedAt(), last.getProductId());
+    }
+
+    public String encode() {
+        String value = sort == ProductSort.PRICE ? String.valueOf(price) : String.valueOf(createdAt);
+        String raw = sort.name() + "|" + (ascending ? "asc" : "desc") + "|" + value + "|" + productId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token, ProductSort sort, boolean ascending) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 4 || ProductSort.valueOf(parts[0]) != sort
+                    || ascending != "asc".equals(parts[1])) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            Integer productId = Integer.valueOf(parts[3]);
+            return sort == ProductSort.PRICE
+                    ? new ProductCursor(sort, ascending, Double.valueOf(parts[2]), null, productId)
+                    : new ProductCursor(sort, ascending, null, LocalDateTime.parse(parts[2]), productId);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -25,9 +25,12 @@ public class ProductDTO {
     private LocalDateTime createdAt;
     private LocalDateTime lastUpdated;
     private List<Integer> attachmentIds;
-    private List<Integer> reviewIds;
+    private List<Integer> reviewIds; // Only on single-product responses; use ratingCount on lists
     private List<Integer> orderItemIds;
    //private List<Map<String, Object>> attachments;
+    private Double ratingAverage;
+    private Long ratingCount;
+    private Map<Integer, Long> ratingHistogram; // stars (1-5) -> number of reviews
 
 
 
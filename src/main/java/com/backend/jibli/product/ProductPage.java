@@ -0,0 +1,16 @@
+package com.backend.jibli.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPage {
+    private List<ProductSummaryDTO> items;
+    private String nextCursor; // null on the last page
+    private boolean hasMore;
+}
@@ -0,0 +1,20 @@
+package com.backend.jibli.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchCriteria {
+    private Integer companyId;
+    private Integer categoryId;
+    private Boolean available;
+    private Double minPrice;
+    private Double maxPrice;
+    private ProductSort sort = ProductSort.CREATED_AT;
+    private boolean ascending;
+    private ProductCursor after;
+    private int limit = 20;
+}
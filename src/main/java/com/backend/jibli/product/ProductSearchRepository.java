@@ -0,0 +1,7 @@
+package com.backend.jibli.product;
+
+import java.util.List;
+
+public interface ProductSearchRepository {
+    List<ProductSummaryDTO> search(ProductSearchCriteria criteria);
+}
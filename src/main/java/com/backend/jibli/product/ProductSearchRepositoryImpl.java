@@ -0,0 +1,95 @@
+package com.backend.jibli.product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset search over the catalog. Rows are ordered by (sort value, productId) and a
+ * page starts strictly after the cursor, so the database seeks into the matching
+ * index instead of counting past an offset.
+ */
+public class ProductSearchRepositoryImpl implements ProductSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductSummaryDTO> search(ProductSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductSummaryDTO> query = cb.createQuery(ProductSummaryDTO.class);
+        Root<Product> p = query.from(Product.class);
+
+        query.select(cb.construct(ProductSummaryDTO.class,
+                p.get("productId"),
+                p.get("productName"),
+                p.get("productPrice"),
+                p.get("productFinalePrice"),
+                p.get("discountPercentage"),
+                p.get("isAvailable"),
+                p.get("category").get("categoryId"),
+                p.get("company").get("companyId"),
+                p.get("createdAt"),
+                p.get("ratingAverage"),
+                p.get("ratingCount")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getCompanyId() != null) {
+            predicates.add(cb.equal(p.get("company").get("companyId"), criteria.getCompanyId()));
+        }
+        if (criteria.getCategoryId() != null) {
+            predicates.add(cb.equal(p.get("category").get("categoryId"), criteria.getCategoryId()));
+        }
+        if (criteria.getAvailable() != null) {
+            predicates.add(cb.equal(p.get("isAvailable"), criteria.getAvailable()));
+        }
+        if (criteria.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(p.get("productFinalePrice"), criteria.getMinPrice()));
+        }
+        if (criteria.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(p.get("productFinalePrice"), criteria.getMaxPrice()));
+        }
+
+        boolean asc = criteria.isAscending();
+        Path<Integer> id = p.get("productId");
+        ProductCursor cursor = criteria.getAfter();
+        if (criteria.getSort() == ProductSort.PRICE) {
+            Path<Double> price = p.get("productFinalePrice");
+            predicates.add(cb.isNotNull(price));
+            if (cursor != null) {
+                predicates.add(seek(cb, price, cursor.price(), id, cursor.productId(), asc));
+            }
+            query.orderBy(asc ? cb.asc(price) : cb.desc(price), asc ? cb.asc(id) : cb.desc(id));
+        } else {
+            Path<LocalDateTime> createdAt = p.get("createdAt");
+            if (cursor != null) {
+                predicates.add(seek(cb, createdAt, cursor.createdAt(), id, cursor.productId(), asc));
+            }
+            query.orderBy(asc ? cb.asc(createdAt) : cb.desc(createdAt), asc ? cb.asc(id) : cb.desc(id));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+        return entityManager.createQuery(query)
+                .setMaxResults(criteria.getLimit())
+                .getResultList();
+    }
+
+    // (value, id) > (:value, :id) for ascending order, < for descending
+    private <T extends Comparable<? super T>> Predicate seek(CriteriaBuilder cb, Path<T> value, T lastValue,
+                                                             Path<Integer> id, Integer lastId, boolean asc) {
+        if (asc) {
+            return cb.or(cb.greaterThan(value, lastValue),
+                    cb.and(cb.equal(value, lastValue), cb.greaterThan(id, lastId)));
+        }
+        return cb.or(cb.lessThan(value, lastValue),
+                cb.and(cb.equal(value, lastValue), cb.lessThan(id, lastId)));
+    }
+}
@@ -14,9 +14,12 @@ import com.backend.jibli.review.Review;
 import com.backend.jibli.review.ReviewDTO;
 import com.backend.jibli.user.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -25,17 +28,21 @@ import java.util.stream.Collectors;
 @Service
 public class ProductService implements IProductService {
 
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     private final IProductRepository productRepository;
     private final IAttachmentService attachmentService;
     private final IReviewService reviewService;
     private final IOrderItemService orderItemService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ProductService(IProductRepository productRepository, IAttachmentService attachmentService, IReviewService reviewService, IOrderItemService orderItemService) {
+    public ProductService(IProductRepository productRepository, IAttachmentService attachmentService, IReviewService reviewService, IOrderItemService orderItemService, ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
         this.attachmentService = attachmentService;
         this.reviewService = reviewService;
         this.orderItemService = orderItemService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -48,7 +55,13 @@ public class ProductService implements IProductService {
     @Override
     public Optional<ProductDTO> getProductById(Integer id) {
         return productRepository.findById(id)
-                .map(this::mapToDTO);
+                .map(product -> {
+                    ProductDTO dto = mapToDTO(product);
+                    dto.setReviewIds(product.getReviews() != null
+                            ? product.getReviews().stream().map(Review::getReviewId).collect(Collectors.toList())
+                            : List.of());
+                    return dto;
+                });
     }
 
     @Override
@@ -82,6 +95,7 @@ public class ProductService implements IProductService {
         }
         Product product = mapToEntity(dto);
         Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(saved.getProductId(), companyIdOf(saved), false));
         return mapToDTO(saved);
     }
 
@@ -116,17 +130,20 @@ public class ProductService implements IProductService {
                     }
 
                     Product updated = productRepository.save(product);
+                    eventPublisher.publishEvent(new ProductChangedEvent(updated.getProductId(), companyIdOf(updated), false));
                     return mapToDTO(updated);
                 });
     }
 
     @Override
     public boolean deleteProduct(Integer id) {
-        if (productRepository.existsById(id)) {
-            productRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return productRepository.findById(id)
+                .map(product -> {
+                    productRepository.delete(product);
+                    eventPublisher.publishEvent(new ProductChangedEvent(id, companyIdOf(product), true));
+                    return true;
+                })
+                .orElse(false);
     }
 
     @Override
@@ -156,6 +173,37 @@ public class ProductService implements IProductService {
     }
 
 
+    @Override
+    public List<ProductSummaryDTO> findTopRatedByCompany(Integer companyId, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        return productRepository.findTopRatedByCompany(companyId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public ProductPage searchProducts(ProductSearchCriteria criteria) {
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null
+                && criteria.getMinPrice() > criteria.getMaxPrice()) {
+            throw new IllegalArgumentException("minPrice cannot be greater than maxPrice");
+        }
+        int limit = criteria.getLimit();
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+
+        // Fetch one extra row to know whether another page exists
+        criteria.setLimit(limit + 1);
+        List<ProductSummaryDTO> rows = productRepository.search(criteria);
+        boolean hasMore = rows.size() > limit;
+        List<ProductSummaryDTO> items = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = hasMore
+                ? ProductCursor.after(items.get(items.size() - 1), criteria.getSort(), criteria.isAscending()).encode()
+                : null;
+        return new ProductPage(items, nextCursor, hasMore);
+    }
+
     private ProductDTO mapToDTO(Product product) {
         List<Integer> attachmentIds = product.getAttachments() != null
                 ? product.getAttachments().stream()
@@ -182,12 +230,6 @@ public class ProductService implements IProductService {
 
 
 
-        List<Integer> reviewIds = product.getReviews() != null
-                ? product.getReviews().stream()
-                .map(Review::getReviewId)
-                .collect(Collectors.toList())
-                : List.of();
-
         List<Integer> orderItemIds = product.getOrderItems() != null
                 ? product.getOrderItems().stream()
                 .map(OrderItem::getOrderItemId)
@@ -208,13 +250,29 @@ public class ProductService implements IProductService {
         dto.setCreatedAt(product.getCreatedAt());
         dto.setLastUpdated(product.getLastUpdated());
         dto.setAttachmentIds(attachmentIds);
-        dto.setReviewIds(reviewIds);
+        dto.setRatingAverage(product.getRatingAverage());
+        dto.setRatingCount(product.getRatingCount());
+        dto.setRatingHistogram(ratingHistogram(product));
         dto.setOrderItemIds(orderItemIds);
        // dto.setAttachments(attachments);
 
         return dto;
     }
 
+    private static Integer companyIdOf(Product product) {
+        return product.getCompany() != null ? product.getCompany().getCompanyId() : null;
+    }
+
+    private static Map<Integer, Long> ratingHistogram(Product product) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, product.getRating1());
+        histogram.put(2, product.getRating2());
+        histogram.put(3, product.getRating3());
+        histogram.put(4, product.getRating4());
+        histogram.put(5, product.getRating5());
+        return histogram;
+    }
+
     private Product mapToEntity(ProductDTO dto) {
         Product product = new Product();
         product.setProductName(dto.getProductName());
@@ -0,0 +1,25 @@
+package com.backend.jibli.product;
+
+public enum ProductSort {
+    PRICE("price"),
+    CREATED_AT("createdAt");
+
+    private final String param;
+
+    ProductSort(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public static ProductSort fromParam(String value) {
+        for (ProductSort sort : values()) {
+            if (sort.param.equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Invalid sort: " + value + ". Must be one of: price, createdAt");
+    }
+}
@@ -0,0 +1,28 @@
+package com.backend.jibli.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Catalog row returned by the search endpoint: only the product's own columns,
+ * no collections. Use /attachments/metadata for the images of a page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummaryDTO {
+    private Integer productId;
+    private String productName;
+    private Double productPrice;
+    private Double productFinalePrice;
+    private Double discountPercentage;
+    private boolean isAvailable;
+    private Integer categoryId;
+    private Integer companyId;
+    private LocalDateTime createdAt;
+    private Double ratingAverage;
+    private Long ratingCount;
+}
@@ -0,0 +1,39 @@
+package com.backend.jibli.review;
+
+import com.backend.jibli.company.ICompanyRepository;
+import com.backend.jibli.product.IProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Recomputes the denormalized rating totals from the reviews table. ReviewService keeps
+ * them current incrementally; this only repairs drift (manual SQL, failed deltas) and
+ * fills the columns the first time the application starts with them.
+ */
+@Component
+@Slf4j
+public class RatingReconciliationJob {
+
+    private final ICompanyRepository companyRepository;
+    private final IProductRepository productRepository;
+
+    public RatingReconciliationJob(ICompanyRepository companyRepository, IProductRepository productRepository) {
+        this.companyRepository = companyRepository;
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${ratings.reconcile.cron:0 30 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        int companies = companyRepository.recomputeRatings();
+        int products = productRepository.recomputeRatings();
+        log.info("⭐ Ratings reconciled - Companies: {}, Products: {} in {}ms",
+                companies, products, System.currentTimeMillis() - start);
+    }
+}
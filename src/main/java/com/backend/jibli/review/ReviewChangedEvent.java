@@ -0,0 +1,8 @@
+package com.backend.jibli.review;
+
+/**
+ * Published after a review is created, updated or deleted, with the company and
+ * product it was attached to (either can be null).
+ */
+public record ReviewChangedEvent(Integer reviewId, Integer companyId, Integer productId) {
+}
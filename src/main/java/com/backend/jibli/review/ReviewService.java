@@ -1,14 +1,18 @@
 package com.backend.jibli.review;
 
 import com.backend.jibli.company.Company;
+import com.backend.jibli.company.ICompanyRepository;
 import com.backend.jibli.product.IProductRepository;
 import com.backend.jibli.product.Product;
 import com.backend.jibli.user.IUserRepository;
 import com.backend.jibli.user.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -18,12 +22,16 @@ public class ReviewService implements IReviewService {
     private final IReviewRepository reviewRepository;
     private final IUserRepository userRepository;
     private final IProductRepository productRepository;
+    private final ICompanyRepository companyRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ReviewService(IReviewRepository reviewRepository, IUserRepository userRepository, IProductRepository productRepository) {
+    public ReviewService(IReviewRepository reviewRepository, IUserRepository userRepository, IProductRepository productRepository, ICompanyRepository companyRepository, ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
         this.userRepository = userRepository;
         this.productRepository = productRepository;
+        this.companyRepository = companyRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -40,6 +48,7 @@ public class ReviewService implements IReviewService {
     }
 
     @Override
+    @Transactional
     public ReviewDTO createReview(ReviewDTO dto) {
         if (dto.getUserId() == null) {
             throw new IllegalArgumentException("User ID is required");
@@ -87,10 +96,12 @@ public class ReviewService implements IReviewService {
 
         Review review = mapToEntity(dto);
         Review saved = reviewRepository.save(review);
+        applyRating(saved, 1);
         return mapToDTO(saved);
     }
 
     @Override
+    @Transactional
     public Optional<ReviewDTO> updateReview(Integer id, ReviewDTO dto) {
         if (dto.getUserId() != null && !userRepository.existsById(dto.getUserId())) {
             throw new IllegalArgumentException("User not found");
@@ -109,6 +120,10 @@ public class ReviewService implements IReviewService {
         }
         return reviewRepository.findById(id)
                 .map(review -> {
+                    // Snapshot before the setters below change what the review contributes
+                    Integer oldCompanyId = companyIdOf(review);
+                    Integer oldProductId = productIdOf(review);
+                    int oldRating = ratingOf(review);
                     if (dto.getUserId() != null) {
                         User user = new User();
                         user.setUserId(dto.getUserId());
@@ -122,17 +137,26 @@ public class ReviewService implements IReviewService {
                     if (dto.getRating() != null) review.setRating(dto.getRating());
                     if (dto.getComment() != null) review.setComment(dto.getComment());
                     Review updated = reviewRepository.save(review);
+                    applyRating(oldCompanyId, oldProductId, oldRating, -1);
+                    applyRating(updated, 1);
+                    if (!Objects.equals(oldCompanyId, companyIdOf(updated)) || !Objects.equals(oldProductId, productIdOf(updated))) {
+                        // Moved: the company and product it left changed too
+                        eventPublisher.publishEvent(new ReviewChangedEvent(updated.getReviewId(), oldCompanyId, oldProductId));
+                    }
                     return mapToDTO(updated);
                 });
     }
 
     @Override
+    @Transactional
     public boolean deleteReview(Integer id) {
-        if (reviewRepository.existsById(id)) {
-            reviewRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return reviewRepository.findById(id)
+                .map(review -> {
+                    reviewRepository.delete(review);
+                    applyRating(review, -1);
+                    return true;
+                })
+                .orElse(false);
     }
 
     @Override
@@ -145,6 +169,37 @@ public class ReviewService implements IReviewService {
                 .collect(Collectors.toList());
     }
 
+    private void applyRating(Review review, int sign) {
+        applyRating(companyIdOf(review), productIdOf(review), ratingOf(review), sign);
+        eventPublisher.publishEvent(new ReviewChangedEvent(review.getReviewId(), companyIdOf(review), productIdOf(review)));
+    }
+
+    // Adds (sign = 1) or removes (sign = -1) a rating from the company and product totals
+    private void applyRating(Integer companyId, Integer productId, int rating, int sign) {
+        if (rating <= 0) {
+            return;
+        }
+        if (companyId != null) {
+            companyRepository.applyRatingDelta(companyId, (long) sign * rating, sign);
+        }
+        if (productId != null) {
+            productRepository.applyRatingDelta(productId, rating, sign);
+        }
+    }
+
+    private static Integer productIdOf(Review review) {
+        return review.getProduct() != null ? review.getProduct().getProductId() : null;
+    }
+
+    private static Integer companyIdOf(Review review) {
+        return review.getCompany() != null ? review.getCompany().getCompanyId() : null;
+    }
+
+    // 0 when the review carries no rating (comment only)
+    private static int ratingOf(Review review) {
+        return review.getRating() != null && review.getRating() > 0 ? review.getRating() : 0;
+    }
+
     private ReviewDTO mapToDTO(Review review) {
         return new ReviewDTO(
                 review.getReviewId(),
@@ -0,0 +1,38 @@
+package com.backend.jibli.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.ar.ArabicNormalizationFilter;
+import org.apache.lucene.analysis.ar.ArabicStemFilter;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.util.ElisionFilter;
+
+/**
+ * Analyzer shared by indexing and querying. Handles the mix of French and Arabic found
+ * in the catalog: French elisions (l', d') are dropped and accents folded, so "cafe"
+ * matches "Café"; Arabic is normalized (alef/yeh/teh marbuta variants, diacritics) and
+ * lightly stemmed, so "مطعم" matches "المطعم".
+ */
+public class CatalogAnalyzer extends Analyzer {
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        StandardTokenizer tokenizer = new StandardTokenizer();
+        TokenStream stream = new LowerCaseFilter(tokenizer);
+        stream = new ElisionFilter(stream, FrenchAnalyzer.DEFAULT_ARTICLES);
+        stream = new ArabicNormalizationFilter(stream);
+        stream = new ArabicStemFilter(stream);
+        stream = new ASCIIFoldingFilter(stream);
+        return new TokenStreamComponents(tokenizer, stream);
+    }
+
+    @Override
+    protected TokenStream normalize(String fieldName, TokenStream in) {
+        TokenStream stream = new LowerCaseFilter(in);
+        stream = new ArabicNormalizationFilter(stream);
+        return new ASCIIFoldingFilter(stream);
+    }
+}
@@ -0,0 +1,8 @@
+package com.backend.jibli.search;
+
+import java.util.List;
+
+public interface ISearchService {
+    List<SearchResultDTO> search(String query, SearchDocumentType type, int limit);
+    void rebuildIndex();
+}
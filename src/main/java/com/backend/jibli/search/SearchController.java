@@ -0,0 +1,50 @@
+package com.backend.jibli.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+
+    private final ISearchService searchService;
+
+    @Autowired
+    public SearchController(ISearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Typo- and prefix-tolerant search over product names/descriptions and company
+     * names/sectors. {@code type} restricts results to PRODUCT or COMPANY.
+     */
+    @GetMapping
+    public ResponseEntity<?> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        try {
+            SearchDocumentType documentType = type != null && !type.isBlank()
+                    ? SearchDocumentType.valueOf(type.toUpperCase())
+                    : null;
+            List<SearchResultDTO> results = searchService.search(query, documentType, limit);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    private Map<String, Object> createErrorResponse(String message) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", message);
+        error.put("timestamp", System.currentTimeMillis());
+        return error;
+    }
+}
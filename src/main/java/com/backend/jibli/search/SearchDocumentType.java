@@ -0,0 +1,5 @@
+package com.backend.jibli.search;
+
+public enum SearchDocumentType {
+    PRODUCT, COMPANY
+}
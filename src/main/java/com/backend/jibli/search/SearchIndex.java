@@ -0,0 +1,232 @@
+package com.backend.jibli.search;
+
+import com.backend.jibli.company.Company;
+import com.backend.jibli.product.Product;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory Lucene index over the public catalog: available products and active
+ * companies. It is rebuilt from the database on startup and kept current from
+ * change events, so it never needs to be persisted.
+ */
+@Component
+public class SearchIndex {
+
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String COMPANY_ID = "companyId";
+    private static final String PRICE = "price";
+    private static final String NAME = "name";
+    private static final String SECTOR = "sector";
+    private static final String DESCRIPTION = "description";
+
+    // Leading characters that must match exactly for a fuzzy hit; keeps the edit automaton small
+    private static final int FUZZY_PREFIX_LENGTH = 2;
+
+    // Field -> weight of a match in that field
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(NAME, 3f, SECTOR, 2f, DESCRIPTION, 1f);
+
+    private final Analyzer analyzer = new CatalogAnalyzer();
+    private final ByteBuffersDirectory directory = new ByteBuffersDirectory();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public SearchIndex() {
+        try {
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open search index", e);
+        }
+    }
+
+    public void indexProduct(Product product) {
+        Document doc = new Document();
+        doc.add(new StringField(KEY, key(SearchDocumentType.PRODUCT, product.getProductId()), Field.Store.NO));
+        doc.add(new StringField(TYPE, SearchDocumentType.PRODUCT.name(), Field.Store.YES));
+        doc.add(new StoredField(ID, product.getProductId()));
+        if (product.getCompany() != null) {
+            doc.add(new StoredField(COMPANY_ID, product.getCompany().getCompanyId()));
+        }
+        if (product.getProductFinalePrice() != null) {
+            doc.add(new StoredField(PRICE, product.getProductFinalePrice()));
+        }
+        addText(doc, NAME, product.getProductName(), true);
+        addText(doc, DESCRIPTION, product.getProductDescription(), false);
+        update(key(SearchDocumentType.PRODUCT, product.getProductId()), doc);
+    }
+
+    public void indexCompany(Company company) {
+        Document doc = new Document();
+        doc.add(new StringField(KEY, key(SearchDocumentType.COMPANY, company.getCompanyId()), Field.Store.NO));
+        doc.add(new StringField(TYPE, SearchDocumentType.COMPANY.name(), Field.Store.YES));
+        doc.add(new StoredField(ID, company.getCompanyId()));
+        doc.add(new StoredField(COMPANY_ID, company.getCompanyId()));
+        addText(doc, NAME, company.getCompanyName(), true);
+        addText(doc, SECTOR, company.getCompanySector(), false);
+        addText(doc, DESCRIPTION, company.getCompanyDescription(), false);
+        update(key(SearchDocumentType.COMPANY, company.getCompanyId()), doc);
+    }
+
+    public void remove(SearchDocumentType type, Integer id) {
+        try {
+            writer.deleteDocuments(new Term(KEY, key(type, id)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void clear() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Makes the changes made since the last call visible to searches
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Every query word must match, either exactly, as a prefix (typing "piz" finds
+     * "pizza") or within one edit for words of four letters or more ("piza").
+     */
+    public List<SearchResultDTO> search(String text, SearchDocumentType type, int limit) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            query.add(termQuery(term), BooleanClause.Occur.MUST);
+        }
+        if (type != null) {
+            query.add(new TermQuery(new Term(TYPE, type.name())), BooleanClause.Occur.FILTER);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query.build(), limit);
+                List<SearchResultDTO> results = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    results.add(toResult(searcher.storedFields().document(scoreDoc.doc), scoreDoc.score));
+                }
+                return results;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Query termQuery(String term) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        FIELD_BOOSTS.forEach((field, boost) -> {
+            builder.add(new BoostQuery(new TermQuery(new Term(field, term)), boost * 3), BooleanClause.Occur.SHOULD);
+            builder.add(new BoostQuery(new PrefixQuery(new Term(field, term)), boost * 2), BooleanClause.Occur.SHOULD);
+            // Typos are tolerated on the short fields only; fuzzy matching long descriptions is costly and noisy
+            if (term.length() >= 4 && !DESCRIPTION.equals(field)) {
+                builder.add(new BoostQuery(new FuzzyQuery(new Term(field, term), 1, FUZZY_PREFIX_LENGTH), boost),
+                        BooleanClause.Occur.SHOULD);
+            }
+        });
+        return builder.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute termAttribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(termAttribute.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private SearchResultDTO toResult(Document doc, float score) {
+        IndexableField companyId = doc.getField(COMPANY_ID);
+        IndexableField price = doc.getField(PRICE);
+        return new SearchResultDTO(
+                SearchDocumentType.valueOf(doc.get(TYPE)),
+                doc.getField(ID).numericValue().intValue(),
+                doc.get(NAME),
+                companyId != null ? companyId.numericValue().intValue() : null,
+                price != null ? price.numericValue().doubleValue() : null,
+                score
+        );
+    }
+
+    private void update(String key, Document doc) {
+        try {
+            writer.updateDocument(new Term(KEY, key), doc);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void addText(Document doc, String field, String value, boolean stored) {
+        if (value != null && !value.isBlank()) {
+            doc.add(new TextField(field, value, stored ? Field.Store.YES : Field.Store.NO));
+        }
+    }
+
+    private static String key(SearchDocumentType type, Integer id) {
+        return type.name() + ":" + id;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.backend.jibli.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+    private SearchDocumentType type;
+    private Integer id;
+    private String name;
+    private Integer companyId; // Owning company for products, the company itself otherwise
+    private Double price;
+    private float score;
+}
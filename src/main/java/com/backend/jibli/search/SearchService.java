@@ -0,0 +1,109 @@
+package com.backend.jibli.search;
+
+import com.backend.jibli.company.Company;
+import com.backend.jibli.company.CompanyChangedEvent;
+import com.backend.jibli.company.CompanyStatus;
+import com.backend.jibli.company.ICompanyRepository;
+import com.backend.jibli.product.IProductRepository;
+import com.backend.jibli.product.Product;
+import com.backend.jibli.product.ProductChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Service
+@Slf4j
+public class SearchService implements ISearchService {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int MAX_LIMIT = 50;
+
+    private final SearchIndex searchIndex;
+    private final IProductRepository productRepository;
+    private final ICompanyRepository companyRepository;
+
+    @Autowired
+    public SearchService(SearchIndex searchIndex,
+                         IProductRepository productRepository,
+                         ICompanyRepository companyRepository) {
+        this.searchIndex = searchIndex;
+        this.productRepository = productRepository;
+        this.companyRepository = companyRepository;
+    }
+
+    @Override
+    public List<SearchResultDTO> search(String query, SearchDocumentType type, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return searchIndex.search(query, type, limit);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        searchIndex.clear();
+
+        int products = 0;
+        int lastId = 0;
+        List<Product> batch;
+        do {
+            batch = productRepository.findBatchAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Product product : batch) {
+                if (product.isAvailable()) {
+                    searchIndex.indexProduct(product);
+                    products++;
+                }
+                lastId = product.getProductId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        List<Company> companies = companyRepository.findAllActiveCompanies();
+        companies.forEach(searchIndex::indexCompany);
+
+        searchIndex.refresh();
+        log.info("🔎 Search index built - Products: {}, Companies: {} in {}ms",
+                products, companies.size(), System.currentTimeMillis() - start);
+    }
+
+    // After commit, so the index never shows a change that was rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            Product product = event.deleted() ? null : productRepository.findById(event.productId()).orElse(null);
+            if (product != null && product.isAvailable()) {
+                searchIndex.indexProduct(product);
+            } else {
+                searchIndex.remove(SearchDocumentType.PRODUCT, event.productId());
+            }
+            searchIndex.refresh();
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to index product {}: {}", event.productId(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompanyChanged(CompanyChangedEvent event) {
+        try {
+            Company company = event.deleted() ? null : companyRepository.findById(event.companyId()).orElse(null);
+            if (company != null && company.getCompanyStatus() == CompanyStatus.ACTIVE) {
+                searchIndex.indexCompany(company);
+            } else {
+                searchIndex.remove(SearchDocumentType.COMPANY, event.companyId());
+            }
+            searchIndex.refresh();
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to index company {}: {}", event.companyId(), e.getMessage());
+        }
+    }
+}
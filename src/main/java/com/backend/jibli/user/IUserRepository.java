@@ -1,6 +1,8 @@
 package com.backend.jibli.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -9,4 +11,8 @@ public interface IUserRepository extends JpaRepository<User, Integer> {
     boolean existsByEmail(String email);
 
     List<User> findAllByUserRole(UserRole userRole);
+
+    @Query("SELECT u.userId FROM User u WHERE u.userRole = :role AND u.isAvailable = true " +
+            "AND (u.userStatus IS NULL OR u.userStatus = com.backend.jibli.user.UserStatus.ACTIVE)")
+    List<Integer> findAvailableIdsByRole(@Param("role") UserRole role);
 }
\ No newline at end of file
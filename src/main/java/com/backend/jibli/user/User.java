@@ -20,7 +20,9 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_user_role", columnList = "userRole")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -44,8 +46,6 @@ public class User {
     private LocalDateTime createdAt;
     private LocalDateTime lastUpdated;
     private boolean isAvailable;
-    @Column(length = 500)
-    private String fcmToken;
 
 
     // ✅ ONLY include orders, everything else is ignored
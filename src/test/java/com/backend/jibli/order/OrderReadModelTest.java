@@ -0,0 +1,101 @@
+package com.backend.jibli.order;
+
+import com.backend.jibli.company.Company;
+import com.backend.jibli.product.Product;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import(OrderReadModel.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class OrderReadModelTest {
+
+    // JibliApplication enables the full MVC setup, which needs a servlet context
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("com.backend.jibli")
+    @EnableJpaRepositories("com.backend.jibli")
+    static class JpaOnly {
+    }
+
+    @Autowired
+    private IOrderRepository orderRepository;
+
+    @Autowired
+    private OrderReadModel orderReadModel;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int c = 0; c < 3; c++) {
+            Company company = new Company();
+            company.setCompanyName("Company " + c);
+            entityManager.persist(company);
+
+            for (int o = 0; o < 10; o++) {
+                Order order = new Order();
+                order.setCompany(company);
+                entityManager.persist(order);
+
+                for (int i = 0; i < 3; i++) {
+                    Product product = new Product();
+                    product.setProductName("Product " + i);
+                    entityManager.persist(product);
+
+                    OrderItem item = new OrderItem();
+                    item.setOrder(order);
+                    item.setProduct(product);
+                    item.setQuantity(1);
+                    entityManager.persist(item);
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listCostsThreeStatementsWhateverItsSize() {
+        List<OrderDTO> orders = orderReadModel.toDTOs(orderRepository.findAll());
+
+        assertEquals(30, orders.size());
+        assertEquals(3, orders.get(0).getOrderItemIds().size());
+        assertEquals("Company 0", orders.get(0).getCompany().getCompanyName());
+        // Orders, then the 3 companies in one batch, then every item id in one IN query
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void fetchedCompanyListCostsTwoStatements() {
+        List<OrderDTO> orders = orderReadModel.toDTOs(orderRepository.findAllWithProducts());
+
+        assertEquals(30, orders.size());
+        assertEquals(90, orders.stream().mapToInt(order -> order.getOrderItemIds().size()).sum());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,166 @@
+package com.backend.jibli.order;
+
+import com.backend.jibli.user.IUserRepository;
+import com.backend.jibli.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderStateMachineTest {
+
+    private static final Integer ORDER_ID = 7;
+    private static final Integer DRIVER_ID = 3;
+
+    private IOrderRepository orderRepository;
+    private IUserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private OrderStateMachine stateMachine;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(IOrderRepository.class);
+        userRepository = mock(IUserRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        stateMachine = new OrderStateMachine(orderRepository, userRepository, eventPublisher);
+    }
+
+    @Test
+    void canTransitionFollowsTheTable() {
+        assertTrue(OrderStateMachine.canTransition(OrderStatus.PENDING, OrderStatus.IN_PREPARATION));
+        assertTrue(OrderStateMachine.canTransition(OrderStatus.WAITING, OrderStatus.PICKED_UP));
+        assertTrue(OrderStateMachine.canTransition(OrderStatus.REJECTED, OrderStatus.WAITING));
+        assertTrue(OrderStateMachine.canTransition(OrderStatus.ACCEPTED, OrderStatus.CANCELED));
+
+        assertFalse(OrderStateMachine.canTransition(OrderStatus.PENDING, OrderStatus.DELIVERED));
+        assertFalse(OrderStateMachine.canTransition(OrderStatus.PICKED_UP, OrderStatus.CANCELED));
+        assertFalse(OrderStateMachine.canTransition(OrderStatus.DELIVERED, OrderStatus.PENDING));
+        assertFalse(OrderStateMachine.canTransition(OrderStatus.CANCELED, OrderStatus.WAITING));
+    }
+
+    @Test
+    void transitionUpdatesAndPublishes() {
+        User driver = new User();
+        when(orderRepository.findStatusById(ORDER_ID)).thenReturn(Optional.of(OrderStatus.IN_PREPARATION));
+        when(orderRepository.findDeliveryIdById(ORDER_ID)).thenReturn(Optional.empty());
+        when(orderRepository.transitionStatus(eq(ORDER_ID), eq(OrderStatus.IN_PREPARATION), eq(OrderStatus.WAITING),
+                any(LocalDateTime.class))).thenReturn(1);
+        when(userRepository.getReferenceById(DRIVER_ID)).thenReturn(driver);
+        when(orderRepository.findPartiesById(ORDER_ID)).thenReturn(Optional.of(new OrderParties(ORDER_ID, 1, 2, DRIVER_ID)));
+
+        OrderStateMachine.Transition transition = stateMachine.transition(ORDER_ID, OrderStatus.WAITING, DRIVER_ID).orElseThrow();
+
+        assertEquals(new OrderStateMachine.Transition(OrderStatus.IN_PREPARATION, OrderStatus.WAITING), transition);
+        verify(orderRepository).assignDelivery(ORDER_ID, driver);
+        verify(eventPublisher).publishEvent(new OrderStatusChangedEvent(ORDER_ID, OrderStatus.IN_PREPARATION,
+                OrderStatus.WAITING, 1, 2, DRIVER_ID, null));
+    }
+
+    @Test
+    void disallowedTransitionIsRefused() {
+        when(orderRepository.findStatusById(ORDER_ID)).thenReturn(Optional.of(OrderStatus.DELIVERED));
+
+        assertThrows(OrderTransitionException.class,
+                () -> stateMachine.transition(ORDER_ID, OrderStatus.CANCELED, null));
+        verify(orderRepository, never()).transitionStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    void missingOrderIsEmpty() {
+        when(orderRepository.findStatusById(ORDER_ID)).thenReturn(Optional.empty());
+
+        assertTrue(stateMachine.transition(ORDER_ID, OrderStatus.CANCELED, null).isEmpty());
+    }
+
+    @Test
+    void retryOfAppliedTransitionIsANoOp() {
+        when(orderRepository.findStatusById(ORDER_ID)).thenReturn(Optional.of(OrderStatus.WAITING));
+        when(orderRepository.findDeliveryIdById(ORDER_ID)).thenReturn(Optional.of(DRIVER_ID));
+
+        OrderStateMachine.Transition transition = stateMachine.transition(ORDER_ID, OrderStatus.WAITING, DRIVER_ID).orElseThrow();
+
+        assertFalse(transition.changed());
+        verify(orderRepository, never()).transitionStatus(any(), any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void sameStatusWithAnotherDriverReassignsAWaitingOrder() {
+        User previous = new User();
+        User next = new User();
+        when(orderRepository.findStatusById(ORDER_ID)).thenReturn(Optional.of(OrderStatus.WAITING));
+        when(orderRepository.findDeliveryIdById(ORDER_ID)).thenReturn(Optional.of(DRIVER_ID));
+        when(userRepository.getReferenceById(DRIVER_ID)).thenReturn(previous);
+        when(userRepository.getReferenceById(DRIVER_ID + 1)).thenReturn(next);
+        when(orderRepository.reassignDelivery(eq(ORDER_ID), eq(OrderStatus.WAITING), eq(previous), eq(next),
+                any(LocalDateTime.class))).thenReturn(1);
+        when(orderRepository.findPartiesById(ORDER_ID)).thenReturn(Optional.of(new OrderParties(ORDER_ID, 1, 2, DRIVER_ID + 1)));
+
+        OrderStateMachine.Transition transition = stateMachine.transition(ORDER_ID, OrderStatus.WAITING, DRIVER_ID + 1).orElseThrow();
+
+        assertFalse(transition.changed());
+        verify(orderRepository, never()).transitionStatus(any(), any(), any(), any());
+        verify(eventPublisher).publishEvent(new OrderStatusChangedEvent(ORDER_ID, OrderStatus.WAITING,
+                OrderStatus.WAITING, 1, 2, DRIVER_ID + 1, DRIVER_ID));
+    }
+
+    @Test
+    void reassignmentLosingARaceIsRefused() {
+        when(orderRepository.findStatusById(ORDER_ID)).thenReturn(Optional.of(OrderStatus.REJECTED));
+        when(orderRepository.findDeliveryIdById(ORDER_ID)).thenReturn(Optional.of(DRIVER_ID));
+        when(orderRepository.reassignDelivery(any(), any(), any(), any(), any())).thenReturn(0);
+
+        assertThrows(OrderTransitionException.class,
+                () -> stateMachine.transition(ORDER_ID, OrderStatus.REJECTED, DRIVER_ID + 1));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void anotherDriverIsRefusedOnceTheOrderIsTaken() {
+        when(orderRepository.findStatusById(ORDER_ID)).thenReturn(Optional.of(OrderStatus.ACCEPTED));
+        when(orderRepository.findDeliveryIdById(ORDER_ID)).thenReturn(Optional.of(DRIVER_ID));
+
+        assertThrows(OrderTransitionException.class,
+                () -> stateMachine.transition(ORDER_ID, OrderStatus.ACCEPTED, DRIVER_ID + 1));
+        verify(orderRepository, never()).reassignDelivery(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void lostRaceToTheSameTargetIsANoOp() {
+        when(orderRepository.findStatusById(ORDER_ID))
+                .thenReturn(Optional.of(OrderStatus.PICKED_UP), Optional.of(OrderStatus.DELIVERED));
+        when(orderRepository.transitionStatus(eq(ORDER_ID), eq(OrderStatus.PICKED_UP), eq(OrderStatus.DELIVERED),
+                any(LocalDateTime.class))).thenReturn(0);
+
+        OrderStateMachine.Transition transition = stateMachine.transition(ORDER_ID, OrderStatus.DELIVERED, null).orElseThrow();
+
+        assertEquals(new OrderStateMachine.Transition(OrderStatus.DELIVERED, OrderStatus.DELIVERED), transition);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void lostRaceToAnotherStatusIsRefused() {
+        when(orderRepository.findStatusById(ORDER_ID))
+                .thenReturn(Optional.of(OrderStatus.WAITING), Optional.of(OrderStatus.CANCELED));
+        when(orderRepository.transitionStatus(eq(ORDER_ID), eq(OrderStatus.WAITING), eq(OrderStatus.PICKED_UP),
+                any(LocalDateTime.class))).thenReturn(0);
+
+        assertThrows(OrderTransitionException.class,
+                () -> stateMachine.transition(ORDER_ID, OrderStatus.PICKED_UP, null));
+        verify(orderRepository, never()).assignDelivery(any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}